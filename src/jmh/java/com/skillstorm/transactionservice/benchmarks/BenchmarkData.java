@@ -0,0 +1,31 @@
+package com.skillstorm.transactionservice.benchmarks;
+
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic transaction fixtures shared by the benchmarks
+final class BenchmarkData {
+
+    private static final TransactionCategory[] CATEGORIES = TransactionCategory.values();
+
+    private BenchmarkData() {
+    }
+
+    // count transactions spread round-robin over userCount users and over the year 2024, with ids 1..count
+    static List<Transaction> transactions(int count, int userCount) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction(1 + i % userCount, 1 + i % 3, "Vendor " + (i % 50),
+                    BigDecimal.valueOf(1000 + i, 2), CATEGORIES[i % CATEGORIES.length], "Purchase number " + i,
+                    LocalDate.of(2024, 1, 1).plusDays(i % 366));
+            transaction.setTransactionId(i + 1);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+}
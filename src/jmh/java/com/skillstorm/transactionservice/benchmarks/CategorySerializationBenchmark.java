@@ -0,0 +1,138 @@
+package com.skillstorm.transactionservice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * TransactionCategorySerializer / TransactionCategoryDeserializer over 100000 rows, reported per
+ * row. "categories" is a bare array of categories, isolating the serializer; "transactions" is
+ * the same number of full Transaction rows, showing the share of a real response. "legacy"
+ * swaps in (through a mix-in) the previous implementations, which rebuilt the display name on
+ * every toString() and upper-cased a copy of every input before valueOf. Run with -prof gc to
+ * compare allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategorySerializationBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private static final TypeReference<List<TransactionCategory>> CATEGORY_LIST = new TypeReference<>() {
+    };
+
+    private static final TypeReference<List<Transaction>> TRANSACTION_LIST = new TypeReference<>() {
+    };
+
+    @Param({ "legacy", "precomputed" })
+    public String implementation;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionCategory> categories;
+    private List<Transaction> transactions;
+    private byte[] categoriesJson;
+    private byte[] transactionsJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (implementation.equals("legacy")) {
+            builder.mixIn(TransactionCategory.class, LegacyCategoryMixIn.class);
+        }
+        objectMapper = builder.build();
+
+        transactions = BenchmarkData.transactions(ROWS, 1);
+        categories = new ArrayList<>(ROWS);
+        for (Transaction transaction : transactions) {
+            categories.add(transaction.getCategory());
+        }
+        categoriesJson = objectMapper.writeValueAsBytes(categories);
+        transactionsJson = objectMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public byte[] serializeCategories() throws Exception {
+        return objectMapper.writeValueAsBytes(categories);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<TransactionCategory> deserializeCategories() throws Exception {
+        return objectMapper.readValue(categoriesJson, CATEGORY_LIST);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public byte[] serializeTransactions() throws Exception {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Transaction> deserializeTransactions() throws Exception {
+        return objectMapper.readValue(transactionsJson, TRANSACTION_LIST);
+    }
+
+    @JsonSerialize(using = LegacyCategorySerializer.class)
+    @JsonDeserialize(using = LegacyCategoryDeserializer.class)
+    private abstract static class LegacyCategoryMixIn {
+    }
+
+    // The display name as TransactionCategory.toString() used to build it on every call
+    public static final class LegacyCategorySerializer extends JsonSerializer<TransactionCategory> {
+
+        @Override
+        public void serialize(TransactionCategory value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            String name = value.name().replace('_', ' ').toLowerCase();
+            String[] words = name.split(" ");
+            StringBuilder displayName = new StringBuilder();
+            for (String word : words) {
+                displayName.append(Character.toUpperCase(word.charAt(0)))
+                           .append(word.substring(1))
+                           .append(" ");
+            }
+            gen.writeString(displayName.toString().trim());
+        }
+    }
+
+    public static final class LegacyCategoryDeserializer extends JsonDeserializer<TransactionCategory> {
+
+        @Override
+        public TransactionCategory deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return TransactionCategory.valueOf(p.getText().replace(' ', '_').toUpperCase());
+        }
+    }
+}
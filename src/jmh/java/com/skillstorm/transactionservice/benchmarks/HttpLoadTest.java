@@ -0,0 +1,164 @@
+package com.skillstorm.transactionservice.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Closed-loop HTTP load test against a running instance: each client sends a request, waits for
+ * the response and immediately sends the next. Used to compare the platform-thread and
+ * virtual-thread modes (VIRTUAL_THREADS_ENABLED) at the same client count and Hikari pool size.
+ *
+ *   mvn -P benchmarks test-compile exec:exec \
+ *       -Dbenchmark.main=com.skillstorm.transactionservice.benchmarks.HttpLoadTest \
+ *       -Djmh.args="--clients 1000 --duration 60 --warmup 15"
+ *
+ * Options (defaults in brackets):
+ *   --url       endpoint to call [http://localhost:8083/transactions]
+ *   --clients   concurrent clients [1000]
+ *   --users     User-ID header is picked uniformly from 1..users [1000]
+ *   --warmup    seconds of load before measuring [10]
+ *   --duration  seconds measured [30]
+ *
+ * Prints throughput, latency percentiles and the error count. Only requests that complete inside
+ * the measured window are counted; non-2xx responses and I/O failures count as errors.
+ */
+public final class HttpLoadTest {
+
+    private final URI uri;
+    private final int clients;
+    private final int users;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private HttpLoadTest(URI uri, int clients, int users) {
+        this.uri = uri;
+        this.clients = clients;
+        this.users = users;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String url = "http://localhost:8083/transactions";
+        int clients = 1000;
+        int users = 1000;
+        int warmupSeconds = 10;
+        int durationSeconds = 30;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--clients" -> clients = Integer.parseInt(args[i + 1]);
+                case "--users" -> users = Integer.parseInt(args[i + 1]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[i + 1]);
+                case "--duration" -> durationSeconds = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        new HttpLoadTest(URI.create(url), clients, users).run(warmupSeconds, durationSeconds);
+    }
+
+    private void run(int warmupSeconds, int durationSeconds) throws InterruptedException {
+        LatencyRecorder[] recorders = new LatencyRecorder[clients];
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders[i] = recorder;
+            Thread client = new Thread(() -> {
+                try {
+                    callUntilStopped(recorder);
+                } finally {
+                    finished.countDown();
+                }
+            }, "load-client-" + i);
+            client.setDaemon(true);
+            client.start();
+        }
+
+        System.out.printf("%s: %d clients, %ds warmup, %ds measured%n", uri, clients, warmupSeconds, durationSeconds);
+        Thread.sleep(warmupSeconds * 1000L);
+        errors.set(0);
+        measuring = true;
+        Thread.sleep(durationSeconds * 1000L);
+        measuring = false;
+        running = false;
+        finished.await();
+
+        report(recorders, durationSeconds);
+    }
+
+    private void callUntilStopped(LatencyRecorder recorder) {
+        while (running) {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("User-ID", String.valueOf(ThreadLocalRandom.current().nextInt(users) + 1))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() / 100 == 2;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long latency = System.nanoTime() - start;
+            if (measuring) {
+                if (ok) {
+                    recorder.record(latency);
+                } else {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void report(LatencyRecorder[] recorders, int durationSeconds) {
+        int total = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+        }
+        long[] latencies = new long[total];
+        int position = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, latencies, position, recorder.count);
+            position += recorder.count;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("requests   %d ok, %d errors%n", total, errors.get());
+        System.out.printf("throughput %.1f req/s%n", (double) total / durationSeconds);
+        if (total > 0) {
+            System.out.printf("latency ms p50 %.1f  p95 %.1f  p99 %.1f  max %.1f%n", millis(latencies, 0.50),
+                    millis(latencies, 0.95), millis(latencies, 0.99), latencies[total - 1] / 1e6);
+        }
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    // Latencies of one client, in nanoseconds; only its own thread writes to it
+    private static final class LatencyRecorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+}
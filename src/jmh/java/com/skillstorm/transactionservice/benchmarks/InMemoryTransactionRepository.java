@@ -0,0 +1,97 @@
+package com.skillstorm.transactionservice.benchmarks;
+
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.repositories.TransactionRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * Stand-in for TransactionRepository backed by in-memory lists, so service benchmarks measure
+ * the service's own work rather than Postgres. Each user's rows are kept newest first, the order
+ * the real queries return. Queries the benchmarks do not use throw UnsupportedOperationException.
+ */
+final class InMemoryTransactionRepository implements InvocationHandler {
+
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator.comparing(Transaction::getDate)
+            .thenComparingInt(Transaction::getTransactionId)
+            .reversed();
+
+    private final Map<Integer, List<Transaction>> byUser = new HashMap<>();
+
+    private InMemoryTransactionRepository(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            byUser.computeIfAbsent(transaction.getUserId(), id -> new ArrayList<>()).add(transaction);
+        }
+        byUser.values().forEach(rows -> rows.sort(NEWEST_FIRST));
+    }
+
+    static TransactionRepository of(List<Transaction> transactions) {
+        return (TransactionRepository) Proxy.newProxyInstance(TransactionRepository.class.getClassLoader(),
+                new Class<?>[] { TransactionRepository.class }, new InMemoryTransactionRepository(transactions));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "findByUserId":
+                return Optional.of(new ArrayList<>(rows((int) args[0])));
+            case "findTransactionsInDateRange":
+                return limit(inRange(rows((int) args[0]), (LocalDate) args[1], (LocalDate) args[2]), (Pageable) args[3]);
+            case "findFirstPageByUserId":
+                return limit(rows((int) args[0]), (Pageable) args[1]);
+            case "findPageByUserIdAfter":
+                return limit(after(rows((int) args[0]), (LocalDate) args[1], (int) args[2]), (Pageable) args[3]);
+            case "streamByUserId":
+                return rows((int) args[0]).stream();
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryTransactionRepository";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+
+    private List<Transaction> rows(int userId) {
+        return byUser.getOrDefault(userId, List.of());
+    }
+
+    private static List<Transaction> inRange(List<Transaction> rows, LocalDate from, LocalDate to) {
+        List<Transaction> result = new ArrayList<>();
+        for (Transaction transaction : rows) {
+            if (!transaction.getDate().isBefore(from) && transaction.getDate().isBefore(to)
+                    && transaction.getCategory() != TransactionCategory.INCOME) {
+                result.add(transaction);
+            }
+        }
+        return result;
+    }
+
+    private static List<Transaction> after(List<Transaction> rows, LocalDate date, int transactionId) {
+        List<Transaction> result = new ArrayList<>();
+        for (Transaction transaction : rows) {
+            int byDate = transaction.getDate().compareTo(date);
+            if (byDate < 0 || (byDate == 0 && transaction.getTransactionId() < transactionId)) {
+                result.add(transaction);
+            }
+        }
+        return result;
+    }
+
+    private static List<Transaction> limit(List<Transaction> rows, Pageable pageable) {
+        return new ArrayList<>(rows.subList(0, Math.min(rows.size(), pageable.getPageSize())));
+    }
+}
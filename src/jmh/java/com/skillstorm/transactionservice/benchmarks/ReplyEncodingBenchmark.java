@@ -0,0 +1,84 @@
+package com.skillstorm.transactionservice.benchmarks;
+
+import com.skillstorm.transactionservice.configs.RabbitMqConfig;
+import com.skillstorm.transactionservice.configs.RpcReplySender;
+import com.skillstorm.transactionservice.models.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.postprocessor.DelegatingDecompressingPostProcessor;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Encode and decode cost of an account-request reply (a user's full transaction list) in each
+ * encoding RpcReplySender can negotiate. "json" with no compression is the converter used
+ * before encoding negotiation existed. Bytes on the wire for each combination are printed
+ * once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplyEncodingBenchmark {
+
+    @Param({ "10", "1000", "10000" })
+    public int transactionCount;
+
+    @Param({ "application/json", "application/cbor" })
+    public String contentType;
+
+    @Param({ "identity", "gzip" })
+    public String compression;
+
+    private List<Transaction> transactions;
+    private RpcReplySender replySender;
+    private MessageConverter messageConverter;
+    private DelegatingDecompressingPostProcessor decompressor;
+    private Message encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(transactionCount, 1);
+        messageConverter = new RabbitMqConfig().replyMessageConverter();
+        // encode() never touches the template
+        AmqpTemplate unusedTemplate = (AmqpTemplate) Proxy.newProxyInstance(AmqpTemplate.class.getClassLoader(),
+                new Class<?>[] { AmqpTemplate.class }, (proxy, method, args) -> null);
+        replySender = new RpcReplySender(unusedTemplate, messageConverter, 8192, new SimpleMeterRegistry());
+        decompressor = new DelegatingDecompressingPostProcessor();
+        encoded = encode();
+
+        System.out.printf("%n%s/%s, %d transactions: %d bytes on the wire%n",
+                contentType, compression, transactionCount, encoded.getBody().length);
+    }
+
+    @Benchmark
+    public Message encode() {
+        return replySender.encode(contentType, compression, transactions);
+    }
+
+    @Benchmark
+    public Object decode() {
+        // decompression rewrites the message properties, so work on a copy
+        Message copy = MessageBuilder.fromClonedMessage(encoded).build();
+        return messageConverter.fromMessage(decompressor.postProcessMessage(copy));
+    }
+}
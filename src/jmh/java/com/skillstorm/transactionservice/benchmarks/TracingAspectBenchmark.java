@@ -0,0 +1,178 @@
+package com.skillstorm.transactionservice.benchmarks;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.skillstorm.transactionservice.aspects.TracingAspect;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.services.TransactionService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.SourceLocation;
+import org.aspectj.runtime.internal.AroundClosure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-call overhead of the method tracing aspect around a service call returning a user's
+ * transactions. "legacy" is the blanket LoggingAspect this aspect replaced, which rendered
+ * every argument and result with toString() before the level check. The logger is at TRACE
+ * (as in application.yml) with its appenders removed, so the numbers are message-building
+ * cost rather than console I/O. Run with -prof gc to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TracingAspectBenchmark {
+
+    @Param({ "legacy", "disabled", "sampled", "always" })
+    public String mode;
+
+    @Param({ "10", "1000" })
+    public int transactionCount;
+
+    private TracingAspect tracingAspect;
+    private StubJoinPoint joinPoint;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).detachAndStopAllAppenders();
+        loggerContext.getLogger("com.skillstorm.transactionservice").setLevel(ch.qos.logback.classic.Level.TRACE);
+
+        List<Transaction> transactions = BenchmarkData.transactions(transactionCount, 1);
+        joinPoint = new StubJoinPoint(new Object[] { 1 }, transactions);
+
+        tracingAspect = switch (mode) {
+            case "disabled" -> new TracingAspect(false, 0.01, 120);
+            case "sampled" -> new TracingAspect(true, 0.01, 120);
+            case "always" -> new TracingAspect(true, 1.0, 120);
+            default -> null;
+        };
+    }
+
+    @Benchmark
+    public Object tracedCall() throws Throwable {
+        return tracingAspect == null ? legacyLog(joinPoint) : tracingAspect.trace(joinPoint);
+    }
+
+    // The body of the removed LoggingAspect.log, kept here as the baseline
+    private static Object legacyLog(ProceedingJoinPoint pjp) throws Throwable {
+        Object result = null;
+        Logger log = LoggerFactory.getLogger(pjp.getTarget().getClass());
+        log.trace("Method with signature: " + pjp.getTarget().getClass().getSimpleName() + "." + pjp.getSignature().getName() + "()");
+        log.trace("With arguments: " + Arrays.toString(pjp.getArgs()));
+        result = pjp.proceed();
+        log.trace("Method returned: " + result);
+        return result;
+    }
+
+    // Join point for TransactionService.getTransactionsByUserId that returns a fixed result
+    private static final class StubJoinPoint implements ProceedingJoinPoint, Signature {
+
+        private final Object[] args;
+        private final Object result;
+        private final Object target = new TransactionService();
+
+        private StubJoinPoint(Object[] args, Object result) {
+            this.args = args;
+            this.result = result;
+        }
+
+        @Override
+        public Object proceed() {
+            return result;
+        }
+
+        @Override
+        public Object proceed(Object[] args) {
+            return result;
+        }
+
+        @Override
+        public void set$AroundClosure(AroundClosure arc) {
+        }
+
+        @Override
+        public Object[] getArgs() {
+            return args;
+        }
+
+        @Override
+        public Signature getSignature() {
+            return this;
+        }
+
+        @Override
+        public Object getTarget() {
+            return target;
+        }
+
+        @Override
+        public Object getThis() {
+            return target;
+        }
+
+        @Override
+        public SourceLocation getSourceLocation() {
+            return null;
+        }
+
+        @Override
+        public String getKind() {
+            return METHOD_EXECUTION;
+        }
+
+        @Override
+        public StaticPart getStaticPart() {
+            return null;
+        }
+
+        @Override
+        public String toShortString() {
+            return getName();
+        }
+
+        @Override
+        public String toLongString() {
+            return getName();
+        }
+
+        @Override
+        public String getName() {
+            return "getTransactionsByUserId";
+        }
+
+        @Override
+        public int getModifiers() {
+            return 1;
+        }
+
+        @Override
+        public Class getDeclaringType() {
+            return TransactionService.class;
+        }
+
+        @Override
+        public String getDeclaringTypeName() {
+            return TransactionService.class.getName();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.skillstorm.transactionservice.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.transactionservice.models.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Jackson round trips of List<Transaction> as the HTTP endpoints do them (Spring's default
+ * ObjectMapper setup), and the Jackson2JsonMessageConverter encoding the RPC listeners reply
+ * with when the requester asks for no particular encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionJsonBenchmark {
+
+    private static final TypeReference<List<Transaction>> TRANSACTION_LIST = new TypeReference<>() {
+    };
+
+    @Param({ "10", "1000", "100000" })
+    public int transactionCount;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Jackson2JsonMessageConverter messageConverter = new Jackson2JsonMessageConverter();
+    private List<Transaction> transactions;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        transactions = BenchmarkData.transactions(transactionCount, 1);
+        json = objectMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public List<Transaction> deserialize() throws Exception {
+        return objectMapper.readValue(json, TRANSACTION_LIST);
+    }
+
+    @Benchmark
+    public Message rpcReplyEncode() {
+        return messageConverter.toMessage(transactions, new MessageProperties());
+    }
+}
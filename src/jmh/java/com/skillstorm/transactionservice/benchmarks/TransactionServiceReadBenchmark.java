@@ -0,0 +1,102 @@
+package com.skillstorm.transactionservice.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionPage;
+import com.skillstorm.transactionservice.services.ReadYourWritesTracker;
+import com.skillstorm.transactionservice.services.RequestCoalescer;
+import com.skillstorm.transactionservice.services.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * TransactionService read paths over InMemoryTransactionRepository, so the score is the service's
+ * own overhead (validation, coalescing, paging, cursor handling, export serialization) without
+ * the database. Called directly, outside Spring proxies, so caching and @Timed are not involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceReadBenchmark {
+
+    private static final int USER_ID = 1;
+
+    @Param({ "100", "10000" })
+    public int transactionsPerUser;
+
+    private TransactionService transactionService;
+    private String secondPageCursor;
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Transaction> transactions = BenchmarkData.transactions(transactionsPerUser * 4, 4);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        // export detaches each row; there is no persistence context here
+        EntityManager entityManager = (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[] { EntityManager.class }, (proxy, method, args) -> null);
+
+        transactionService = new TransactionService();
+        ReflectionTestUtils.setField(transactionService, "transactionRepository", InMemoryTransactionRepository.of(transactions));
+        ReflectionTestUtils.setField(transactionService, "coalescer", new RequestCoalescer(new SimpleMeterRegistry(), 2000));
+        ReflectionTestUtils.setField(transactionService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(transactionService, "readYourWrites", new ReadYourWritesTracker(5000));
+        // no database, so the read-only transactions around coalesced reads are no-ops
+        ReflectionTestUtils.setField(transactionService, "transactionManager", Proxy.newProxyInstance(
+                PlatformTransactionManager.class.getClassLoader(), new Class<?>[] { PlatformTransactionManager.class },
+                (proxy, method, args) -> null));
+        ReflectionTestUtils.setField(transactionService, "entityManager", entityManager);
+
+        secondPageCursor = transactionService.getTransactionsPageByUserId(USER_ID, null, null).getNextCursor();
+    }
+
+    @Benchmark
+    public List<Transaction> getTransactionsByUserId() {
+        return transactionService.getTransactionsByUserId(USER_ID);
+    }
+
+    @Benchmark
+    public TransactionPage firstPage() {
+        return transactionService.getTransactionsPageByUserId(USER_ID, null, null);
+    }
+
+    @Benchmark
+    public TransactionPage secondPage() {
+        return transactionService.getTransactionsPageByUserId(USER_ID, secondPageCursor, null);
+    }
+
+    @Benchmark
+    public List<Transaction> getTransactionsInDateRange() {
+        return transactionService.getTransactionsInDateRange(USER_ID, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1));
+    }
+
+    @Benchmark
+    public void exportTransactionsByUserId() throws IOException {
+        transactionService.exportTransactionsByUserId(USER_ID, discard);
+    }
+}
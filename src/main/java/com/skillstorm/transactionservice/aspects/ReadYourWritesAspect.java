@@ -0,0 +1,65 @@
+package com.skillstorm.transactionservice.aspects;
+
+import com.skillstorm.transactionservice.configs.ReplicaRoutingDataSource;
+import com.skillstorm.transactionservice.configs.ReplicaRoutingDataSource.PrimaryScope;
+import com.skillstorm.transactionservice.services.ReadYourWritesTracker;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/*
+ * Keeps a user's reads on the primary database for a while after they wrote (see
+ * ReadYourWritesTracker), so they see their own changes even when the replica is behind.
+ * Applies to read-only service methods that take the user as an int userId parameter, or as
+ * a collection of userIds, in which case one recent writer is enough.
+ */
+@Aspect
+@Component
+public class ReadYourWritesAspect {
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesAspect(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    // Pointcut for the transactional methods of the services:
+    @Pointcut("within(com.skillstorm.transactionservice.services..*) && @annotation(transactional)")
+    public void transactionalServiceMethods(Transactional transactional) {
+        /* Empty Hook */
+    }
+
+    @Around("transactionalServiceMethods(transactional)")
+    public Object routeRecentWriters(ProceedingJoinPoint pjp, Transactional transactional) throws Throwable {
+        if (!transactional.readOnly() || !hasRecentWriter(pjp)) {
+            return pjp.proceed();
+        }
+        try (PrimaryScope scope = ReplicaRoutingDataSource.requirePrimary()) {
+            return pjp.proceed();
+        }
+    }
+
+    boolean hasRecentWriter(ProceedingJoinPoint pjp) {
+        String[] names = ((CodeSignature) pjp.getSignature()).getParameterNames();
+        Object[] args = pjp.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            if ("userId".equals(names[i]) && args[i] instanceof Integer userId && tracker.wroteRecently(userId)) {
+                return true;
+            }
+            if ("userIds".equals(names[i]) && args[i] instanceof Collection<?> userIds) {
+                for (Object id : userIds) {
+                    if (id instanceof Integer userId && tracker.wroteRecently(userId)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,75 @@
+package com.skillstorm.transactionservice.aspects;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Records how many rows each repository query returned, as the distribution summary
+ * transaction.repository.rows tagged by repository and method. Query latency itself is the
+ * spring.data.repository.invocations timer Spring Boot records for every repository.
+ * Streams are not counted, since counting them would consume them.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Pointcut for the query methods declared on the application's repositories:
+    @Pointcut("execution(* com.skillstorm.transactionservice.repositories..*.*(..))")
+    public void repositoryQueries() {
+        /* Empty Hook */
+    }
+
+    @Around("repositoryQueries()")
+    public Object recordRows(ProceedingJoinPoint pjp) throws Throwable {
+        Object result = pjp.proceed();
+        int rows = rowCount(result);
+        if (rows >= 0) {
+            summary(pjp.getSignature().getDeclaringType().getSimpleName(), pjp.getSignature().getName()).record(rows);
+        }
+        return result;
+    }
+
+    // Rows in a query result, or -1 when the result is not a row set
+    static int rowCount(Object result) {
+        if (result instanceof Optional<?> optional) {
+            if (optional.isEmpty()) {
+                return 0;
+            }
+            // Optional<List<...>> counts the list, Optional<Entity> is a single row
+            int rows = rowCount(optional.get());
+            return rows < 0 ? 1 : rows;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        return -1;
+    }
+
+    private DistributionSummary summary(String repository, String method) {
+        return summaries.computeIfAbsent(repository + '.' + method, key -> DistributionSummary.builder("transaction.repository.rows")
+                .tag("repository", repository)
+                .tag("method", method)
+                .description("Rows returned by a repository query")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
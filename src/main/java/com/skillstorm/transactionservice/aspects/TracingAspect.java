@@ -0,0 +1,138 @@
+package com.skillstorm.transactionservice.aspects;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Array;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Sampled method tracing, configured under tracing.* in application.yml:
+ *   enabled              master switch; when off (or the class's logger is above TRACE) calls go
+ *                        straight through without the aspect allocating anything
+ *   sample-rate          fraction of calls traced, 0.0 to 1.0
+ *   max-argument-length  longest rendering of a single argument or result before it is cut off
+ *
+ * A traced call logs one line at TRACE:
+ *   call=TransactionService.getTransactionsByUserId args=[1] result=ArrayList(size=412) durationMicros=5310
+ * Collections, maps and arrays are summarized by size instead of being rendered element by element.
+ *
+ * Exceptions are logged at ERROR regardless of sampling, once per layer they pass through.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    private final boolean enabled;
+
+    private final double sampleRate;
+
+    private final int maxArgumentLength;
+
+    public TracingAspect(@Value("${tracing.enabled:false}") boolean enabled,
+            @Value("${tracing.sample-rate:0.01}") double sampleRate,
+            @Value("${tracing.max-argument-length:120}") int maxArgumentLength) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.maxArgumentLength = maxArgumentLength;
+    }
+
+    // Pointcut for the application's beans, except configuration classes whose methods only run at startup or as metric callbacks:
+    @Pointcut("within(com.skillstorm.transactionservice..*) && !within(com.skillstorm.transactionservice.configs..*)")
+    public void application() {
+        /* Empty Hook */
+    }
+
+    @Around("application()")
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public Object trace(ProceedingJoinPoint pjp) throws Throwable {
+        if (!enabled || !sampled()) {
+            return proceedLoggingErrors(pjp);
+        }
+        Logger log = LoggerFactory.getLogger(pjp.getSignature().getDeclaringType());
+        if (!log.isTraceEnabled()) {
+            return proceedLoggingErrors(pjp);
+        }
+
+        long start = System.nanoTime();
+        Object result = proceedLoggingErrors(pjp);
+        long durationMicros = (System.nanoTime() - start) / 1_000;
+
+        log.trace("call={}.{} args={} result={} durationMicros={}", pjp.getSignature().getDeclaringType().getSimpleName(),
+                pjp.getSignature().getName(), summarizeArguments(pjp.getArgs()), summarize(result), durationMicros);
+        return result;
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    // We don't want the aspect to consume the exception, so it is logged and rethrown:
+    private Object proceedLoggingErrors(ProceedingJoinPoint pjp) throws Throwable {
+        try {
+            return pjp.proceed();
+        } catch (Throwable t) {
+            Logger log = LoggerFactory.getLogger(pjp.getSignature().getDeclaringType());
+            log.error("Exception thrown by {}.{}", pjp.getSignature().getDeclaringType().getSimpleName(),
+                    pjp.getSignature().getName(), t);
+            throw t;
+        }
+    }
+
+    String summarizeArguments(Object[] args) {
+        StringBuilder summary = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                summary.append(", ");
+            }
+            summary.append(summarize(args[i]));
+        }
+        return summary.append(']').toString();
+    }
+
+    // Render a value without walking large object graphs
+    String summarize(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?> || value instanceof Temporal) {
+            return truncate(value.toString());
+        }
+        if (value instanceof CharSequence text) {
+            return '"' + truncate(text.toString()) + '"';
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "(size=" + map.size() + ")";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        if (value instanceof Optional<?> optional) {
+            return optional.isPresent() ? "Optional(" + summarize(optional.get()) + ")" : "Optional.empty";
+        }
+        if (value instanceof ResponseEntity<?> response) {
+            return "ResponseEntity(status=" + response.getStatusCode().value() + ", body=" + summarize(response.getBody()) + ")";
+        }
+        return value.getClass().getSimpleName() + "(" + truncate(String.valueOf(value)) + ")";
+    }
+
+    private String truncate(String text) {
+        return text.length() <= maxArgumentLength ? text : text.substring(0, maxArgumentLength) + "...";
+    }
+}
@@ -0,0 +1,10 @@
+package com.skillstorm.transactionservice.configs;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Turns on the Caffeine-backed caches configured under spring.cache in application.yml
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
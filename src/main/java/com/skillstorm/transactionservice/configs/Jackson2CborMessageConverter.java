@@ -0,0 +1,74 @@
+package com.skillstorm.transactionservice.configs;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.io.IOException;
+
+/*
+ * Binary counterpart of Jackson2JsonMessageConverter: the same Jackson annotations and
+ * __TypeId__ headers, but the body is CBOR (RFC 8949) instead of JSON text. Used for replies
+ * whose requester sent "x-accept: application/cbor". Spring AMQP's AbstractJackson2MessageConverter
+ * routes bodies through Strings in places, so this talks to the CBOR mapper directly.
+ *
+ * __TypeId__ headers are only honoured for TRUSTED_PACKAGES, so a CBOR body can never make
+ * Jackson instantiate an arbitrary class from the classpath.
+ */
+public class Jackson2CborMessageConverter extends AbstractMessageConverter {
+
+    public static final String CONTENT_TYPE_CBOR = "application/cbor";
+
+    // The reply payloads and the collections and scalars the RPC listeners take:
+    public static final String[] TRUSTED_PACKAGES = {"com.skillstorm.transactionservice.models", "java.util", "java.lang"};
+
+    private final ObjectMapper objectMapper = CBORMapper.builder()
+            .findAndAddModules()
+            .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final DefaultJackson2JavaTypeMapper javaTypeMapper = new DefaultJackson2JavaTypeMapper();
+
+    public Jackson2CborMessageConverter() {
+        javaTypeMapper.setTrustedPackages(TRUSTED_PACKAGES);
+    }
+
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to convert Message content to CBOR", e);
+        }
+        messageProperties.setContentType(CONTENT_TYPE_CBOR);
+        messageProperties.setContentLength(bytes.length);
+        javaTypeMapper.fromJavaType(objectMapper.constructType(object.getClass()), messageProperties);
+        return new Message(bytes, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        if (properties == null || !CONTENT_TYPE_CBOR.equals(properties.getContentType())) {
+            return message.getBody();
+        }
+        // Without type headers the body is read into plain maps, lists and scalars
+        JavaType targetType = properties.getHeaders().containsKey(DefaultJackson2JavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME)
+                ? javaTypeMapper.toJavaType(properties)
+                : objectMapper.constructType(Object.class);
+        try {
+            return objectMapper.readValue(message.getBody(), targetType);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to convert CBOR Message content", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.skillstorm.transactionservice.configs;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Listener container advice that counts the messages currently being processed, per consumer queue.
+ * Divided by the active consumer count this gives the listener utilization metric.
+ */
+public class ListenerInFlightTracker implements MethodInterceptor {
+
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        AtomicInteger counter = counterFor(consumerQueue(invocation.getArguments()));
+        counter.incrementAndGet();
+        try {
+            return invocation.proceed();
+        } finally {
+            counter.decrementAndGet();
+        }
+    }
+
+    // Number of messages from the queue that are being processed right now
+    public int getInFlight(String queue) {
+        return counterFor(queue).get();
+    }
+
+    private AtomicInteger counterFor(String queue) {
+        return inFlight.computeIfAbsent(queue == null ? "" : queue, key -> new AtomicInteger());
+    }
+
+    // The container invokes the advice with (channel, message) or (channel, list of messages)
+    private String consumerQueue(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Message message) {
+                return message.getMessageProperties().getConsumerQueue();
+            }
+            if (argument instanceof List<?> messages && !messages.isEmpty() && messages.get(0) instanceof Message message) {
+                return message.getMessageProperties().getConsumerQueue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.skillstorm.transactionservice.configs;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Turns on Micrometer's @Timed annotation, used on TransactionService, and records HTTP response sizes
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // Registered with the servlet container like any Filter bean:
+    @Bean
+    public ResponseSizeFilter responseSizeFilter(MeterRegistry meterRegistry) {
+        return new ResponseSizeFilter(meterRegistry);
+    }
+}
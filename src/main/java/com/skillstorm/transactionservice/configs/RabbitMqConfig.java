@@ -1,14 +1,23 @@
 package com.skillstorm.transactionservice.configs;
 
 import com.skillstorm.transactionservice.constants.Queues;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.postprocessor.DelegatingDecompressingPostProcessor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 @Configuration
 public class RabbitMqConfig {
@@ -20,15 +29,116 @@ public class RabbitMqConfig {
     @Value("${exchanges.direct}")
     private String directExchange;
 
+    @Value("${exchanges.dead-letter}")
+    private String deadLetterExchange;
+
+    // Listener tuning, see rabbit.* in application.yml. The fallbacks repeat the defaults there:
+    @Value("${rabbit.channel-cache-size:25}")
+    private int channelCacheSize;
+
+    @Value("${rabbit.listeners.account.concurrent-consumers:2}")
+    private int accountConcurrentConsumers;
+
+    @Value("${rabbit.listeners.account.max-concurrent-consumers:8}")
+    private int accountMaxConcurrentConsumers;
+
+    @Value("${rabbit.listeners.account.prefetch:10}")
+    private int accountPrefetch;
+
+    @Value("${rabbit.listeners.budget.concurrent-consumers:2}")
+    private int budgetConcurrentConsumers;
+
+    @Value("${rabbit.listeners.budget.max-concurrent-consumers:8}")
+    private int budgetMaxConcurrentConsumers;
+
+    @Value("${rabbit.listeners.budget.prefetch:10}")
+    private int budgetPrefetch;
+
+    @Value("${rabbit.replies.compression-threshold-bytes:8192}")
+    private int replyCompressionThreshold;
+
+    @Value("${rabbit.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${rabbit.retry.initial-interval-ms:200}")
+    private long retryInitialInterval;
+
+    // spring.threads.virtual.enabled, which only takes effect on Java 21+:
+    @Autowired
+    private Environment environment;
+
     // Set up credentials and connect to RabbitMQ:
     @Bean
     public CachingConnectionFactory connectionFactory() {
         CachingConnectionFactory connectionFactory = new CachingConnectionFactory(host);
         connectionFactory.setUsername("guest");
         connectionFactory.setPassword("guest");
+        // every concurrent consumer and every reply publish needs a channel; keep enough cached to avoid churn
+        connectionFactory.setChannelCacheSize(channelCacheSize);
         return connectionFactory;
     }
 
+    // Counts messages being processed per queue, used for the listener utilization metric:
+    @Bean
+    public ListenerInFlightTracker listenerInFlightTracker() {
+        return new ListenerInFlightTracker();
+    }
+
+    // Listener containers for the account-request queue:
+    @Bean
+    public SimpleRabbitListenerContainerFactory accountListenerContainerFactory() {
+        return listenerContainerFactory(accountConcurrentConsumers, accountMaxConcurrentConsumers, accountPrefetch);
+    }
+
+    // Listener containers for the budget-request and budget-summary-request queues:
+    @Bean
+    public SimpleRabbitListenerContainerFactory budgetListenerContainerFactory() {
+        return listenerContainerFactory(budgetConcurrentConsumers, budgetMaxConcurrentConsumers, budgetPrefetch);
+    }
+
+    private SimpleRabbitListenerContainerFactory listenerContainerFactory(int concurrentConsumers,
+            int maxConcurrentConsumers, int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory());
+        factory.setMessageConverter(messageConverter());
+        factory.setConcurrentConsumers(concurrentConsumers);
+        factory.setMaxConcurrentConsumers(Math.max(concurrentConsumers, maxConcurrentConsumers));
+        factory.setPrefetchCount(prefetch);
+        factory.setAfterReceivePostProcessors(new DelegatingDecompressingPostProcessor());
+        // failed messages are never put back on the request queue; they are retried here and then dead-lettered
+        factory.setDefaultRequeueRejected(false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // consumers block on JDBC in virtual threads; the Hikari pool bounds how many reach the database at once
+            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("rabbit-listener-");
+            taskExecutor.setVirtualThreads(true);
+            factory.setTaskExecutor(taskExecutor);
+        }
+        factory.setAdviceChain(listenerInFlightTracker(), RetryInterceptorBuilder.stateless()
+                .maxAttempts(retryMaxAttempts)
+                .backOffOptions(retryInitialInterval, 2.0, retryInitialInterval * 10)
+                .recoverer(new RpcDeadLetterRecoverer(rabbitTemplate(), deadLetterExchange, rpcErrorReplySender()))
+                .build());
+        return factory;
+    }
+
+    // Sends RPC replies in the encoding each requester asked for:
+    @Bean
+    public RpcReplySender rpcReplySender(MeterRegistry meterRegistry) {
+        return new RpcReplySender(rabbitTemplate(), replyMessageConverter(), replyCompressionThreshold, meterRegistry);
+    }
+
+    // Sends typed error replies to RPC callers:
+    @Bean
+    public RpcErrorReplySender rpcErrorReplySender() {
+        return new RpcErrorReplySender(rabbitTemplate());
+    }
+
+    // Referenced by name from the @RabbitListener methods' errorHandler attribute:
+    @Bean
+    public RpcErrorHandler rpcErrorHandler() {
+        return new RpcErrorHandler(rpcErrorReplySender());
+    }
+
     // Configure the RabbitTemplate:
     @Bean
     public RabbitTemplate rabbitTemplate() {
@@ -44,6 +154,11 @@ public class RabbitMqConfig {
         return new DirectExchange(directExchange);
     }
 
+    @Bean
+    public Exchange deadLetterExchange() {
+        return new DirectExchange(deadLetterExchange);
+    }
+
     // Create the queues:
     @Bean
     public Queue transactionRequestQueue() {
@@ -55,6 +170,16 @@ public class RabbitMqConfig {
         return new Queue(Queues.BUDGET_RESPONSE.toString());
     }
 
+    @Bean
+    public Queue budgetSummaryRequestQueue() {
+        return new Queue(Queues.BUDGET_SUMMARY_REQUEST.toString());
+    }
+
+    @Bean
+    public Queue budgetBatchRequestQueue() {
+        return new Queue(Queues.BUDGET_BATCH_REQUEST.toString());
+    }
+
     @Bean
     public Queue accountRequestQueue() {
         return new Queue(Queues.ACCOUNT_REQUEST.toString());
@@ -65,6 +190,36 @@ public class RabbitMqConfig {
         return new Queue(Queues.ACCOUNT_RESPONSE.toString());
     }
 
+    @Bean
+    public Queue accountBatchRequestQueue() {
+        return new Queue(Queues.ACCOUNT_BATCH_REQUEST.toString());
+    }
+
+    @Bean
+    public Queue budgetRequestDeadLetterQueue() {
+        return new Queue(Queues.BUDGET_REQUEST_DLQ.toString());
+    }
+
+    @Bean
+    public Queue budgetSummaryRequestDeadLetterQueue() {
+        return new Queue(Queues.BUDGET_SUMMARY_REQUEST_DLQ.toString());
+    }
+
+    @Bean
+    public Queue budgetBatchRequestDeadLetterQueue() {
+        return new Queue(Queues.BUDGET_BATCH_REQUEST_DLQ.toString());
+    }
+
+    @Bean
+    public Queue accountRequestDeadLetterQueue() {
+        return new Queue(Queues.ACCOUNT_REQUEST_DLQ.toString());
+    }
+
+    @Bean
+    public Queue accountBatchRequestDeadLetterQueue() {
+        return new Queue(Queues.ACCOUNT_BATCH_REQUEST_DLQ.toString());
+    }
+
     // Bind the queues to the exchange:
     @Bean
     public Binding transactionRequestBinding(Queue transactionRequestQueue, Exchange directExchange) {
@@ -82,6 +237,22 @@ public class RabbitMqConfig {
                 .noargs();
     }
 
+    @Bean
+    public Binding budgetSummaryRequestBinding(Queue budgetSummaryRequestQueue, Exchange directExchange) {
+        return BindingBuilder.bind(budgetSummaryRequestQueue)
+                .to(directExchange)
+                .with(Queues.BUDGET_SUMMARY_REQUEST)
+                .noargs();
+    }
+
+    @Bean
+    public Binding budgetBatchRequestBinding(Queue budgetBatchRequestQueue, Exchange directExchange) {
+        return BindingBuilder.bind(budgetBatchRequestQueue)
+                .to(directExchange)
+                .with(Queues.BUDGET_BATCH_REQUEST)
+                .noargs();
+    }
+
     @Bean
     public Binding accountRequestBinding(Queue accountRequestQueue, Exchange directExchange) {
         return BindingBuilder.bind(accountRequestQueue)
@@ -90,6 +261,14 @@ public class RabbitMqConfig {
                 .noargs();
     }
 
+    @Bean
+    public Binding accountBatchRequestBinding(Queue accountBatchRequestQueue, Exchange directExchange) {
+        return BindingBuilder.bind(accountBatchRequestQueue)
+                .to(directExchange)
+                .with(Queues.ACCOUNT_BATCH_REQUEST)
+                .noargs();
+    }
+
     @Bean
     public Binding accountResponseBinding(Queue accountResponseQueue, Exchange directExchange) {
         return BindingBuilder.bind(accountResponseQueue)
@@ -98,9 +277,58 @@ public class RabbitMqConfig {
                 .noargs();
     }
 
-    // Serialize Java objects to JSON:
+    // Bind the dead-letter queues to the dead-letter exchange, keyed by the queue they came from:
+    @Bean
+    public Binding budgetRequestDeadLetterBinding(Queue budgetRequestDeadLetterQueue, Exchange deadLetterExchange) {
+        return BindingBuilder.bind(budgetRequestDeadLetterQueue)
+                .to(deadLetterExchange)
+                .with(Queues.BUDGET_REQUEST)
+                .noargs();
+    }
+
+    @Bean
+    public Binding budgetSummaryRequestDeadLetterBinding(Queue budgetSummaryRequestDeadLetterQueue, Exchange deadLetterExchange) {
+        return BindingBuilder.bind(budgetSummaryRequestDeadLetterQueue)
+                .to(deadLetterExchange)
+                .with(Queues.BUDGET_SUMMARY_REQUEST)
+                .noargs();
+    }
+
+    @Bean
+    public Binding budgetBatchRequestDeadLetterBinding(Queue budgetBatchRequestDeadLetterQueue, Exchange deadLetterExchange) {
+        return BindingBuilder.bind(budgetBatchRequestDeadLetterQueue)
+                .to(deadLetterExchange)
+                .with(Queues.BUDGET_BATCH_REQUEST)
+                .noargs();
+    }
+
+    @Bean
+    public Binding accountRequestDeadLetterBinding(Queue accountRequestDeadLetterQueue, Exchange deadLetterExchange) {
+        return BindingBuilder.bind(accountRequestDeadLetterQueue)
+                .to(deadLetterExchange)
+                .with(Queues.ACCOUNT_REQUEST)
+                .noargs();
+    }
+
+    @Bean
+    public Binding accountBatchRequestDeadLetterBinding(Queue accountBatchRequestDeadLetterQueue, Exchange deadLetterExchange) {
+        return BindingBuilder.bind(accountBatchRequestDeadLetterQueue)
+                .to(deadLetterExchange)
+                .with(Queues.ACCOUNT_BATCH_REQUEST)
+                .noargs();
+    }
+
+    // Serialize Java objects to JSON. Incoming requests are only ever read as JSON:
     @Bean
     public MessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
     }
+
+    // Outbound RPC replies only: JSON, or CBOR for requesters that accept application/cbor.
+    // Not a bean and not set on the listener containers, so CBOR is never decoded from requests
+    public MessageConverter replyMessageConverter() {
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(messageConverter());
+        converter.addDelegate(Jackson2CborMessageConverter.CONTENT_TYPE_CBOR, new Jackson2CborMessageConverter());
+        return converter;
+    }
 }
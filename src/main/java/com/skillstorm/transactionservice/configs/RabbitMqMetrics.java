@@ -0,0 +1,101 @@
+package com.skillstorm.transactionservice.configs;
+
+import com.skillstorm.transactionservice.constants.Queues;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Gauges for sizing the RPC listeners, tagged by queue:
+ *   rabbitmq.queue.messages          messages ready on the broker (queue depth)
+ *   rabbitmq.queue.consumers         consumers the broker sees on the queue
+ *   rabbitmq.listener.consumers      consumers our listener containers currently run
+ *   rabbitmq.listener.utilization    share of those consumers busy with a message (0..1)
+ * The broker gauges make one passive queue declare per publish step.
+ */
+@Component
+public class RabbitMqMetrics implements MeterBinder {
+
+    private static final List<Queues> REQUEST_QUEUES = List.of(Queues.ACCOUNT_REQUEST, Queues.ACCOUNT_BATCH_REQUEST,
+            Queues.BUDGET_REQUEST, Queues.BUDGET_SUMMARY_REQUEST, Queues.BUDGET_BATCH_REQUEST);
+
+    private final AmqpAdmin amqpAdmin;
+
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+
+    private final ListenerInFlightTracker inFlightTracker;
+
+    public RabbitMqMetrics(AmqpAdmin amqpAdmin, RabbitListenerEndpointRegistry listenerRegistry,
+            ListenerInFlightTracker inFlightTracker) {
+        this.amqpAdmin = amqpAdmin;
+        this.listenerRegistry = listenerRegistry;
+        this.inFlightTracker = inFlightTracker;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Queues queue : REQUEST_QUEUES) {
+            String name = queue.toString();
+
+            Gauge.builder("rabbitmq.queue.messages", () -> brokerMessageCount(name))
+                    .tag("queue", name)
+                    .description("Messages ready for delivery on the queue")
+                    .register(registry);
+
+            Gauge.builder("rabbitmq.queue.consumers", () -> brokerConsumerCount(name))
+                    .tag("queue", name)
+                    .description("Consumers attached to the queue, as reported by the broker")
+                    .register(registry);
+
+            Gauge.builder("rabbitmq.listener.consumers", () -> activeConsumers(name))
+                    .tag("queue", name)
+                    .description("Consumers running in this instance's listener containers")
+                    .register(registry);
+
+            Gauge.builder("rabbitmq.listener.utilization", () -> utilization(name))
+                    .tag("queue", name)
+                    .description("Fraction of this instance's consumers that are processing a message")
+                    .register(registry);
+        }
+    }
+
+    private double brokerMessageCount(String queue) {
+        QueueInformation info = amqpAdmin.getQueueInfo(queue);
+        return info == null ? Double.NaN : info.getMessageCount();
+    }
+
+    private double brokerConsumerCount(String queue) {
+        QueueInformation info = amqpAdmin.getQueueInfo(queue);
+        return info == null ? Double.NaN : info.getConsumerCount();
+    }
+
+    // Sum of active consumers over the containers listening on the queue
+    int activeConsumers(String queue) {
+        int consumers = 0;
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            if (container instanceof SimpleMessageListenerContainer simple && listensTo(simple, queue)) {
+                consumers += simple.getActiveConsumerCount();
+            }
+        }
+        return consumers;
+    }
+
+    double utilization(String queue) {
+        int consumers = activeConsumers(queue);
+        return consumers == 0 ? 0.0 : Math.min(1.0, (double) inFlightTracker.getInFlight(queue) / consumers);
+    }
+
+    private boolean listensTo(AbstractMessageListenerContainer container, String queue) {
+        return Arrays.asList(container.getQueueNames()).contains(queue);
+    }
+}
@@ -0,0 +1,102 @@
+package com.skillstorm.transactionservice.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.transactionservice.controllers.ReactiveTransactionHandler;
+import com.skillstorm.transactionservice.exceptions.ReactiveExceptionHandler;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+/*
+ * Non-blocking read path, enabled with the "reactive" profile (configured under reactive.* in
+ * application.yml). The read-only endpoints below are served by their own Netty server on
+ * reactive.server.port with WebFlux and R2DBC, so a slow client costs a connection rather than a
+ * thread. The servlet endpoints on server.port, and every write, keep using JPA unchanged:
+ *   GET /transactions                               (User-ID header)
+ *   GET /transactions/recentTransactions            (User-ID header)
+ *   GET /transactionsPrivate/user/{userId}
+ *   GET /transactionsPrivate/account/{accountId}
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveReadConfig {
+
+    @Value("${reactive.server.port:8084}")
+    private int port;
+
+    @Value("${reactive.r2dbc.url}")
+    private String url;
+
+    @Value("${reactive.r2dbc.username}")
+    private String username;
+
+    @Value("${reactive.r2dbc.password}")
+    private String password;
+
+    @Value("${reactive.r2dbc.pool-size:10}")
+    private int poolSize;
+
+    // R2DBC connections to the same database as the JPA DataSource:
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionPool() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-reads")
+                .maxSize(poolSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ConnectionPool reactiveConnectionPool) {
+        return DatabaseClient.create(reactiveConnectionPool);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveTransactionRoutes(ReactiveTransactionHandler handler) {
+        return RouterFunctions.route()
+                .GET("/transactions", handler::getTransactionsByUserId)
+                .GET("/transactions/recentTransactions", handler::getRecentFiveTransactions)
+                .GET("/transactionsPrivate/user/{userId}", handler::getTransactionsByUserIdPrivate)
+                .GET("/transactionsPrivate/account/{accountId}", handler::getTransactionsByAccountId)
+                .build();
+    }
+
+    // Started and stopped with the application context:
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public WebServer reactiveReadServer(RouterFunction<ServerResponse> reactiveTransactionRoutes, ObjectMapper objectMapper) {
+        return new NettyReactiveWebServerFactory(port).getWebServer(httpHandler(reactiveTransactionRoutes, objectMapper));
+    }
+
+    // JSON codecs use the application's ObjectMapper, so rows serialize exactly as on the servlet endpoints.
+    // Errors go to ReactiveExceptionHandler alone, which writes the same status and message as GlobalExceptionHandler
+    static HttpHandler httpHandler(RouterFunction<ServerResponse> routes, ObjectMapper objectMapper) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return WebHttpHandlerBuilder.webHandler(RouterFunctions.toWebHandler(routes, strategies))
+                .exceptionHandler(new ReactiveExceptionHandler())
+                .build();
+    }
+}
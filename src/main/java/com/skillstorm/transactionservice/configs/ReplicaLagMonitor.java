@@ -0,0 +1,89 @@
+package com.skillstorm.transactionservice.configs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Polls the read replica for its replication lag every check interval. The replica is usable
+ * for reads while its last check succeeded within three intervals and the lag was at most
+ * max-lag; otherwise ReplicaRoutingDataSource sends reads to the primary until it recovers.
+ * A replica that has replayed everything it received counts as zero lag, so an idle primary
+ * does not make the replica look stale.
+ *
+ * Metrics: transaction.datasource.replica.lag (seconds, NaN until the first successful check).
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final long maxLagMillis;
+
+    private final long checkIntervalMillis;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile double lagSeconds = Double.NaN;
+
+    private volatile long lastSuccessNanos;
+
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, long maxLagMillis, long checkIntervalMillis,
+            MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+        Gauge.builder("transaction.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .baseUnit("seconds")
+                .description("Replication lag of the read replica")
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable && System.nanoTime() - lastSuccessNanos <= TimeUnit.MILLISECONDS.toNanos(3 * checkIntervalMillis);
+    }
+
+    // One lag measurement; failures leave the replica unusable until a later check succeeds
+    void check() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            lastSuccessNanos = System.nanoTime();
+            boolean wasUsable = usable;
+            usable = lagSeconds * 1000 <= maxLagMillis;
+            if (wasUsable != usable) {
+                log.warn("Read replica {} for reads, lag {}s", usable ? "back in use" : "taken out of use", lagSeconds);
+            }
+        } catch (RuntimeException e) {
+            if (usable) {
+                log.warn("Read replica lag check failed, sending reads to the primary", e);
+            }
+            usable = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,75 @@
+package com.skillstorm.transactionservice.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Sends connections for read-only transactions (@Transactional(readOnly = true)) to the read
+ * replica and everything else to the primary. Reads also go to the primary while
+ *   - the replica is lagging or unreachable (ReplicaLagMonitor), or
+ *   - the caller holds a requirePrimary() scope, which ReadYourWritesAspect uses for users who just wrote.
+ * The decision is made when a connection is first used, so this must sit behind a
+ * LazyConnectionDataSourceProxy (see ReplicaRoutingConfig); by then the transaction's read-only
+ * flag is known.
+ *
+ * Metrics: transaction.datasource.connections{target=primary|replica} counts routed connections.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final Counter primaryConnections;
+
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryConnections = connectionCounter(meterRegistry, PRIMARY);
+        this.replicaConnections = connectionCounter(meterRegistry, REPLICA);
+    }
+
+    // Send every read on this thread to the primary until the returned scope is closed:
+    //   try (PrimaryScope scope = ReplicaRoutingDataSource.requirePrimary()) { ... }
+    public static PrimaryScope requirePrimary() {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        };
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && PRIMARY_REQUIRED.get() == null
+                && lagMonitor.isReplicaUsable()) {
+            replicaConnections.increment();
+            return REPLICA;
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("transaction.datasource.connections")
+                .tag("target", target)
+                .description("Connections routed to the primary database or the read replica")
+                .register(meterRegistry);
+    }
+
+    public interface PrimaryScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,27 @@
+package com.skillstorm.transactionservice.configs;
+
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+
+/*
+ * Runs once retries are exhausted: tells the caller the request failed, then republishes the
+ * message (with exception details in its headers) to the dead-letter exchange under its
+ * original routing key, so it lands in <queue>.dlq instead of being redelivered forever.
+ */
+public class RpcDeadLetterRecoverer extends RepublishMessageRecoverer {
+
+    private final RpcErrorReplySender replySender;
+
+    public RpcDeadLetterRecoverer(AmqpTemplate errorTemplate, String deadLetterExchange, RpcErrorReplySender replySender) {
+        super(errorTemplate, deadLetterExchange);
+        this.replySender = replySender;
+        setErrorRoutingKeyPrefix("");
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        replySender.send(message, cause.getCause() == null ? cause : cause.getCause());
+        super.recover(message, cause);
+    }
+}
@@ -0,0 +1,40 @@
+package com.skillstorm.transactionservice.configs;
+
+import com.rabbitmq.client.Channel;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.listener.api.RabbitListenerErrorHandler;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+/*
+ * Error handler for the RPC @RabbitListener methods. Permanent failures (not found, bad payload)
+ * are answered right away with an error reply and the message is acknowledged. Anything else is
+ * rethrown so the container's retry policy can try again and, once exhausted, dead-letter it.
+ */
+public class RpcErrorHandler implements RabbitListenerErrorHandler {
+
+    private final RpcErrorReplySender replySender;
+
+    public RpcErrorHandler(RpcErrorReplySender replySender) {
+        this.replySender = replySender;
+    }
+
+    @Override
+    public Object handleError(Message amqpMessage, Channel channel, org.springframework.messaging.Message<?> message,
+            ListenerExecutionFailedException exception) throws Exception {
+        Throwable cause = exception.getCause() == null ? exception : exception.getCause();
+        if (!RpcErrorReplySender.isPermanent(cause)) {
+            throw exception;
+        }
+        replySender.send(amqpMessage, cause);
+        return null;
+    }
+
+    // still abstract in spring-rabbit 3.1, but the listener adapter only calls the overload with the channel
+    @Override
+    @Deprecated
+    @SuppressWarnings("removal")
+    public Object handleError(Message amqpMessage, org.springframework.messaging.Message<?> message,
+            ListenerExecutionFailedException exception) throws Exception {
+        return handleError(amqpMessage, null, message, exception);
+    }
+}
@@ -0,0 +1,56 @@
+package com.skillstorm.transactionservice.configs;
+
+import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
+import com.skillstorm.transactionservice.exceptions.TransactionNotFoundException;
+import com.skillstorm.transactionservice.models.RpcErrorReply;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+/*
+ * Sends an RpcErrorReply to the replyTo queue of a failed request, carrying the request's
+ * correlation id and an "x-rpc-error" header so callers can tell it apart from a normal reply.
+ */
+public class RpcErrorReplySender {
+
+    public static final String ERROR_HEADER = "x-rpc-error";
+
+    private final AmqpTemplate amqpTemplate;
+
+    public RpcErrorReplySender(AmqpTemplate amqpTemplate) {
+        this.amqpTemplate = amqpTemplate;
+    }
+
+    // Exceptions that will fail the same way on every redelivery, so retrying them is pointless
+    public static boolean isPermanent(Throwable cause) {
+        return cause instanceof TransactionNotFoundException
+                || cause instanceof InvalidTransactionException
+                || cause instanceof MessageConversionException
+                || cause instanceof org.springframework.messaging.converter.MessageConversionException;
+    }
+
+    public static RpcErrorReply toReply(Throwable cause) {
+        if (cause instanceof TransactionNotFoundException) {
+            return new RpcErrorReply(404, "NOT_FOUND", cause.getMessage());
+        }
+        if (isPermanent(cause)) {
+            return new RpcErrorReply(400, "BAD_REQUEST", cause.getMessage());
+        }
+        return new RpcErrorReply(500, "INTERNAL_ERROR", "The request could not be processed");
+    }
+
+    // Reply to the request's caller, if it asked for a reply
+    public void send(Message request, Throwable cause) {
+        String replyTo = request.getMessageProperties().getReplyTo();
+        if (replyTo == null) {
+            return;
+        }
+        RpcErrorReply reply = toReply(cause);
+        String correlationId = request.getMessageProperties().getCorrelationId();
+        amqpTemplate.convertAndSend(replyTo, reply, message -> {
+            message.getMessageProperties().setCorrelationId(correlationId);
+            message.getMessageProperties().setHeader(ERROR_HEADER, reply.getError());
+            return message;
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package com.skillstorm.transactionservice.configs;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.postprocessor.DeflaterPostProcessor;
+import org.springframework.amqp.support.postprocessor.GZipPostProcessor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Sends RPC replies in the encoding the requester asked for. Requesters that set no headers
+ * get plain JSON exactly as before.
+ *   x-accept           comma-separated content types in order of preference; application/cbor
+ *                      and application/json are supported
+ *   x-accept-encoding  comma-separated compressions in order of preference; gzip and deflate
+ *                      are supported and only applied to bodies above the compression threshold
+ * The chosen encoding is reported in the reply's standard content_type / content_encoding
+ * properties, which Spring AMQP's ContentTypeDelegatingMessageConverter and
+ * DelegatingDecompressingPostProcessor understand on the receiving side.
+ */
+public class RpcReplySender {
+
+    public static final String ACCEPT_HEADER = "x-accept";
+    public static final String ACCEPT_ENCODING_HEADER = "x-accept-encoding";
+
+    private static final Set<String> SUPPORTED_CONTENT_TYPES = Set.of(
+            MessageProperties.CONTENT_TYPE_JSON, Jackson2CborMessageConverter.CONTENT_TYPE_CBOR);
+
+    private final AmqpTemplate amqpTemplate;
+    private final MessageConverter messageConverter;
+    private final int compressionThreshold;
+    private final Map<String, MessagePostProcessor> compressors = Map.of(
+            "gzip", new GZipPostProcessor(),
+            "deflate", new DeflaterPostProcessor());
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> replySizes = new ConcurrentHashMap<>();
+
+    public RpcReplySender(AmqpTemplate amqpTemplate, MessageConverter messageConverter, int compressionThreshold,
+            MeterRegistry meterRegistry) {
+        this.amqpTemplate = amqpTemplate;
+        this.messageConverter = messageConverter;
+        this.compressionThreshold = compressionThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Encode the payload for the requester and send it to replyTo with the request's correlation id
+    public void send(String replyTo, String correlationId, String accept, String acceptEncoding, Object payload) {
+        Message reply = encode(accept, acceptEncoding, payload);
+        reply.getMessageProperties().setCorrelationId(correlationId);
+        amqpTemplate.send(replyTo, reply);
+        recordReplySize(reply);
+    }
+
+    // Reply body sizes as rabbitmq.reply.bytes, tagged by the negotiated content type and encoding
+    private void recordReplySize(Message reply) {
+        MessageProperties properties = reply.getMessageProperties();
+        String contentType = String.valueOf(properties.getContentType());
+        String contentEncoding = String.valueOf(properties.getContentEncoding());
+        replySizes.computeIfAbsent(contentType + ';' + contentEncoding, key -> DistributionSummary.builder("rabbitmq.reply.bytes")
+                .baseUnit(BaseUnits.BYTES)
+                .tag("content.type", contentType)
+                .tag("content.encoding", contentEncoding)
+                .description("Size of RPC reply bodies on the wire")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(reply.getBody().length);
+    }
+
+    // Build the reply message without sending it
+    public Message encode(String accept, String acceptEncoding, Object payload) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(firstMatch(accept, SUPPORTED_CONTENT_TYPES, MessageProperties.CONTENT_TYPE_JSON));
+        Message message = messageConverter.toMessage(payload, properties);
+
+        String compression = firstMatch(acceptEncoding, compressors.keySet(), null);
+        if (compression != null && message.getBody().length > compressionThreshold) {
+            message = compressors.get(compression).postProcessMessage(message);
+        }
+        return message;
+    }
+
+    private static String firstMatch(String header, Set<String> supported, String fallback) {
+        if (header == null) {
+            return fallback;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim().toLowerCase();
+            if (supported.contains(value)) {
+                return value;
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,11 @@
+package com.skillstorm.transactionservice.constants;
+
+// Names of the in-process caches. Kept as String constants so they can be used in cache annotations
+public final class CacheNames {
+
+    public static final String RECENT_TRANSACTIONS = "recentTransactions";
+    public static final String CURRENT_MONTH_TRANSACTIONS = "currentMonthTransactions";
+
+    private CacheNames() {
+    }
+}
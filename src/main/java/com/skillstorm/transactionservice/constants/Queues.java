@@ -3,8 +3,18 @@ package com.skillstorm.transactionservice.constants;
 public enum Queues {
     BUDGET_REQUEST("budget-request"),
     BUDGET_RESPONSE("budget-response"),
+    BUDGET_SUMMARY_REQUEST("budget-summary-request"),
+    BUDGET_BATCH_REQUEST("budget-batch-request"),
     ACCOUNT_REQUEST("account-request"),
-    ACCOUNT_RESPONSE("account-response");
+    ACCOUNT_RESPONSE("account-response"),
+    ACCOUNT_BATCH_REQUEST("account-batch-request"),
+
+    // Dead-letter queues, bound to the dead-letter exchange with the original queue name as routing key
+    BUDGET_REQUEST_DLQ("budget-request.dlq"),
+    BUDGET_SUMMARY_REQUEST_DLQ("budget-summary-request.dlq"),
+    BUDGET_BATCH_REQUEST_DLQ("budget-batch-request.dlq"),
+    ACCOUNT_REQUEST_DLQ("account-request.dlq"),
+    ACCOUNT_BATCH_REQUEST_DLQ("account-batch-request.dlq");
 
     private final String queue;
 
@@ -0,0 +1,92 @@
+package com.skillstorm.transactionservice.controllers;
+
+import com.skillstorm.transactionservice.exceptions.TransactionNotFoundException;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.repositories.ReactiveTransactionRepository;
+import com.skillstorm.transactionservice.services.TransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Streaming versions of the read-only endpoints of TransactionController and
+ * TransactionBetweenServicesController, routed by ReactiveReadConfig. Responses are a JSON array,
+ * or newline-delimited JSON flushed row by row when the client accepts application/x-ndjson, and
+ * are written only as fast as the client reads them. Status codes and error messages match the
+ * servlet endpoints; an empty result is still a 404.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveTransactionHandler {
+
+    private final ReactiveTransactionRepository transactionRepository;
+
+    private final TransactionService transactionService;
+
+    @Autowired
+    public ReactiveTransactionHandler(ReactiveTransactionRepository transactionRepository,
+            TransactionService transactionService) {
+        this.transactionRepository = transactionRepository;
+        this.transactionService = transactionService;
+    }
+
+    // GET /transactions
+    public Mono<ServerResponse> getTransactionsByUserId(ServerRequest request) {
+        int userId = userIdHeader(request);
+        return stream(request, transactionRepository.findByUserId(userId),
+                "Transactions for user ID " + userId + " not found");
+    }
+
+    // GET /transactions/recentTransactions
+    public Mono<ServerResponse> getRecentFiveTransactions(ServerRequest request) {
+        int userId = userIdHeader(request);
+        return stream(request, transactionRepository.findRecentFiveTransaction(userId),
+                "Unable to find most recent 5 transactions");
+    }
+
+    // GET /transactionsPrivate/user/{userId}
+    public Mono<ServerResponse> getTransactionsByUserIdPrivate(ServerRequest request) {
+        int userId = pathId(request, "userId");
+        return stream(request, transactionRepository.findByUserId(userId),
+                "Transactions for user ID " + userId + " not found");
+    }
+
+    // GET /transactionsPrivate/account/{accountId}
+    public Mono<ServerResponse> getTransactionsByAccountId(ServerRequest request) {
+        int accountId = pathId(request, "accountId");
+        return stream(request, transactionRepository.findByAccountId(accountId),
+                "Transactions for account ID " + accountId + " not found");
+    }
+
+    // The not-found error is raised before the first row, while the response can still become a 404
+    private static Mono<ServerResponse> stream(ServerRequest request, Flux<Transaction> transactions, String notFoundMessage) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+                .contentType(contentType)
+                .body(transactions.switchIfEmpty(Mono.error(new TransactionNotFoundException(notFoundMessage))),
+                        Transaction.class);
+    }
+
+    private int userIdHeader(ServerRequest request) {
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        transactionService.validateRequestWithHeaders(headers);
+        return Integer.parseInt(headers.getFirst("User-ID"));
+    }
+
+    private static int pathId(ServerRequest request, String name) {
+        try {
+            return Integer.parseInt(request.pathVariable(name));
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid " + name + ": " + request.pathVariable(name));
+        }
+    }
+}
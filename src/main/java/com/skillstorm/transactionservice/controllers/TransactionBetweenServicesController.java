@@ -1,12 +1,19 @@
 package com.skillstorm.transactionservice.controllers;
 
+import com.skillstorm.transactionservice.exceptions.TransactionNotFoundException;
 import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionPage;
+import com.skillstorm.transactionservice.models.TransactionPurgeJob;
+import com.skillstorm.transactionservice.services.TransactionPurgeService;
 import com.skillstorm.transactionservice.services.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -16,9 +23,12 @@ public class TransactionBetweenServicesController {
 
     private final TransactionService transactionService;
 
+    private final TransactionPurgeService transactionPurgeService;
+
     @Autowired
-    public TransactionBetweenServicesController(TransactionService transactionService) {
+    public TransactionBetweenServicesController(TransactionService transactionService, TransactionPurgeService transactionPurgeService) {
         this.transactionService = transactionService;
+        this.transactionPurgeService = transactionPurgeService;
     }
 
     // Mapping for getting all transactions by userId
@@ -28,6 +38,23 @@ public class TransactionBetweenServicesController {
         return new ResponseEntity<>(transactionsList, HttpStatus.OK);
     }
 
+    // Mapping for getting one page of transactions by userId
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<TransactionPage> getTransactionsPageByUserId(@PathVariable int userId,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        TransactionPage transactionPage = transactionService.getTransactionsPageByUserId(userId, cursor, size);
+        return new ResponseEntity<>(transactionPage, HttpStatus.OK);
+    }
+
+    // Mapping for exporting all transactions by userId as newline-delimited JSON, streamed straight from the database
+    @GetMapping(value = "/user/{userId}/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByUserId(@PathVariable int userId) {
+        StreamingResponseBody body = outputStream -> transactionService.exportTransactionsByUserId(userId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     //Mapping for getting all transactions by accountId
     @GetMapping("/account/{accountId}")
     public ResponseEntity<List<Transaction>> getTransactionsByAccountId(@PathVariable int accountId){
@@ -35,10 +62,28 @@ public class TransactionBetweenServicesController {
         return new ResponseEntity<>(transactionsList, HttpStatus.OK);
     }
 
-    // Mapping for deleting a transaction with userId
+    // Mapping for getting one page of transactions by accountId
+    @GetMapping("/account/{accountId}/page")
+    public ResponseEntity<TransactionPage> getTransactionsPageByAccountId(@PathVariable int accountId,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        TransactionPage transactionPage = transactionService.getTransactionsPageByAccountId(accountId, cursor, size);
+        return new ResponseEntity<>(transactionPage, HttpStatus.OK);
+    }
+
+    // Mapping for deleting all transactions of a user. The purge runs in the background; returns 202 with a Location to poll
     @DeleteMapping("/deleteTransaction/user/{userId}")
-    public ResponseEntity<Void> deleteTransactionByUserId(@PathVariable int userId){
-        transactionService.deleteTransactionByUserId(userId);
-        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    public ResponseEntity<TransactionPurgeJob> deleteTransactionByUserId(@PathVariable int userId){
+        TransactionPurgeJob purgeJob = transactionPurgeService.requestPurge(userId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/transactionsPrivate/deleteTransaction/user/" + userId + "/status"))
+                .body(purgeJob);
+    }
+
+    // Mapping for the progress of a user's purge: state RUNNING or COMPLETED and the number of transactions deleted so far
+    @GetMapping("/deleteTransaction/user/{userId}/status")
+    public ResponseEntity<TransactionPurgeJob> getPurgeStatus(@PathVariable int userId) {
+        TransactionPurgeJob purgeJob = transactionPurgeService.getStatus(userId)
+                .orElseThrow(() -> new TransactionNotFoundException("No purge found for user ID " + userId));
+        return new ResponseEntity<>(purgeJob, HttpStatus.OK);
     }
 }
@@ -1,13 +1,20 @@
 package com.skillstorm.transactionservice.controllers;
 
+import com.skillstorm.transactionservice.models.MonthlyCategorySummary;
 import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionPage;
+import com.skillstorm.transactionservice.services.IdempotencyKeyService;
 import com.skillstorm.transactionservice.services.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -16,45 +23,105 @@ public class TransactionController {
 
     private final TransactionService transactionService;
 
+    private final IdempotencyKeyService idempotencyKeyService;
+
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, IdempotencyKeyService idempotencyKeyService) {
         this.transactionService = transactionService;
+        this.idempotencyKeyService = idempotencyKeyService;
     }
 
-    // Mapping for getting all transactions by userId
+    // Mapping for getting all transactions by userId. Answers 304 when If-None-Match has the current ETag
     @GetMapping
-    public ResponseEntity<List<Transaction>> getTransactionsByUserId(@RequestHeader HttpHeaders headers) {
+    public ResponseEntity<List<Transaction>> getTransactionsByUserId(@RequestHeader HttpHeaders headers, WebRequest request) {
         transactionService.validateRequestWithHeaders(headers);
 
         // the validation function should catch any errors by this point, so this is safe
         int userId = Integer.parseInt(headers.getFirst("User-ID"));
 
+        if (request.checkNotModified(changeETag(userId, transactionService.getChangeVersion(userId), ""))) {
+            return null;
+        }
+
         List<Transaction> transactionsList = transactionService.getTransactionsByUserId(userId);
         return new ResponseEntity<>(transactionsList, HttpStatus.OK);
     }
 
-    // Mapping for getting most recent 5 transactions
+    // Mapping for getting one page of transactions by userId. Pass the returned nextCursor back to get the following page
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPage> getTransactionsPageByUserId(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, @RequestHeader HttpHeaders headers) {
+        transactionService.validateRequestWithHeaders(headers);
+
+        int userId = Integer.parseInt(headers.getFirst("User-ID"));
+
+        TransactionPage transactionPage = transactionService.getTransactionsPageByUserId(userId, cursor, size);
+        return new ResponseEntity<>(transactionPage, HttpStatus.OK);
+    }
+
+    // Mapping for getting most recent 5 transactions. Answers 304 when If-None-Match has the current ETag
     @GetMapping("/recentTransactions")
-    public ResponseEntity<List<Transaction>> getRecentFiveTransactions(@RequestHeader HttpHeaders headers) {
+    public ResponseEntity<List<Transaction>> getRecentFiveTransactions(@RequestHeader HttpHeaders headers, WebRequest request) {
         transactionService.validateRequestWithHeaders(headers);
 
         int userId = Integer.parseInt(headers.getFirst("User-ID"));
 
-        List<Transaction> transactionsList = transactionService.getRecentFiveTransactions(userId);
+        long changeVersion = transactionService.getChangeVersion(userId);
+        if (request.checkNotModified(changeETag(userId, changeVersion, ""))) {
+            return null;
+        }
+
+        List<Transaction> transactionsList = transactionService.getRecentFiveTransactions(userId, changeVersion);
         return new ResponseEntity<>(transactionsList, HttpStatus.OK);
     }
 
-    // Mapping for getting transaction for the current month
+    // Mapping for getting transaction for the current month. Answers 304 when If-None-Match has the current ETag
     @GetMapping("/currentMonthTransactions")
-    public ResponseEntity<List<Transaction>> getTransactionsFromCurrentMonth(@RequestHeader HttpHeaders headers) {
+    public ResponseEntity<List<Transaction>> getTransactionsFromCurrentMonth(@RequestHeader HttpHeaders headers, WebRequest request) {
+        transactionService.validateRequestWithHeaders(headers);
+
+        int userId = Integer.parseInt(headers.getFirst("User-ID"));
+
+        // the month is part of the tag, the listing changes at the start of each month without any write. It is read
+        // once, so the tag and the listing are always for the same month
+        YearMonth month = YearMonth.now();
+        long changeVersion = transactionService.getChangeVersion(userId);
+        if (request.checkNotModified(changeETag(userId, changeVersion, "-" + month))) {
+            return null;
+        }
+
+        List<Transaction> transactionsList = transactionService.getTransactionsFromMonth(userId, month, changeVersion);
+        return new ResponseEntity<>(transactionsList, HttpStatus.OK);
+    }
+
+    // Mapping for getting transactions dated within [from, to), e.g. /transactions/range?from=2024-01-01&to=2024-02-01.
+    // The window is capped at TransactionService.MAX_DATE_RANGE_DAYS and the result at MAX_DATE_RANGE_ROWS
+    @GetMapping("/range")
+    public ResponseEntity<List<Transaction>> getTransactionsInDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader HttpHeaders headers) {
         transactionService.validateRequestWithHeaders(headers);
 
         int userId = Integer.parseInt(headers.getFirst("User-ID"));
 
-        List<Transaction> transactionsList = transactionService.getTransactionsFromCurrentMonth(userId);
+        List<Transaction> transactionsList = transactionService.getTransactionsInDateRange(userId, from, to);
         return new ResponseEntity<>(transactionsList, HttpStatus.OK);
     }
 
+    // Mapping for getting the per-category totals for a month, e.g. /transactions/summary?month=2024-01. Defaults to the current month
+    @GetMapping("/summary")
+    public ResponseEntity<List<MonthlyCategorySummary>> getMonthlySummary(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestHeader HttpHeaders headers) {
+        transactionService.validateRequestWithHeaders(headers);
+
+        int userId = Integer.parseInt(headers.getFirst("User-ID"));
+
+        List<MonthlyCategorySummary> summaries = transactionService.getMonthlySummary(userId, month == null ? YearMonth.now() : month);
+        return new ResponseEntity<>(summaries, HttpStatus.OK);
+    }
+
     // Mapping for getting all transactions by vendorName and userId
     @GetMapping("/vendor/{vendorName}")
     public ResponseEntity<List<Transaction>> getTransactionsByUserIdAndVendorName(@PathVariable String vendorName, @RequestHeader HttpHeaders headers) {
@@ -66,17 +133,32 @@ public class TransactionController {
         return new ResponseEntity<>(transactionsList, HttpStatus.OK);
     }
 
-    // Mapping for creating a transaction
+    // Mapping for creating a transaction. With an Idempotency-Key header, a retry of the same request returns the
+    // transaction created the first time instead of creating another one
     @PostMapping
     public ResponseEntity<Transaction> createTransaction(@RequestBody Transaction transaction, @RequestHeader HttpHeaders headers) {
         transactionService.validateRequestWithHeaders(headers);
 
         int userId = Integer.parseInt(headers.getFirst("User-ID"));
-        
-        Transaction newTransaction = transactionService.createTransaction(userId, transaction);
+        String idempotencyKey = headers.getFirst("Idempotency-Key");
+
+        Transaction newTransaction = idempotencyKey == null
+                ? transactionService.createTransaction(userId, transaction)
+                : idempotencyKeyService.createTransaction(userId, idempotencyKey, transaction);
         return new ResponseEntity<>(newTransaction, HttpStatus.CREATED);
     }
 
+    // Mapping for creating many transactions in one request, e.g. a bank-sync import
+    @PostMapping("/batch")
+    public ResponseEntity<List<Transaction>> createTransactions(@RequestBody List<Transaction> transactions, @RequestHeader HttpHeaders headers) {
+        transactionService.validateRequestWithHeaders(headers);
+
+        int userId = Integer.parseInt(headers.getFirst("User-ID"));
+
+        List<Transaction> newTransactions = transactionService.createTransactions(userId, transactions);
+        return new ResponseEntity<>(newTransactions, HttpStatus.CREATED);
+    }
+
     // Mapping for updating a transaction
     @PutMapping("/{transactionId}")
     public ResponseEntity<Transaction> updateTransaction(@PathVariable int transactionId, @RequestBody Transaction transaction, @RequestHeader HttpHeaders headers) {
@@ -95,4 +177,12 @@ public class TransactionController {
         transactionService.deleteTransaction(transactionId);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    // Strong ETag of a user's listing: it changes with every committed write of theirs, so an unchanged tag means
+    // the listing is unchanged. The userId keeps tags of different users on the same URL apart. The version must be
+    // read before the listing is loaded, and the cached listings are keyed by it, so a body is never older than its tag.
+    // checkNotModified also sets it as the response's ETag header
+    private String changeETag(int userId, long changeVersion, String suffix) {
+        return "\"" + userId + "-" + changeVersion + suffix + "\"";
+    }
 }
@@ -0,0 +1,44 @@
+package com.skillstorm.transactionservice.controllers;
+
+import com.skillstorm.transactionservice.models.TransactionImportResult;
+import com.skillstorm.transactionservice.services.TransactionImportService;
+import com.skillstorm.transactionservice.services.TransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/transactions")
+public class TransactionImportController {
+
+    private final TransactionService transactionService;
+
+    private final TransactionImportService transactionImportService;
+
+    @Autowired
+    public TransactionImportController(TransactionService transactionService, TransactionImportService transactionImportService) {
+        this.transactionService = transactionService;
+        this.transactionImportService = transactionImportService;
+    }
+
+    // Mapping for importing a CSV bank statement. Columns: accountId, vendorName, amount, category, date and optionally description
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TransactionImportResult> importTransactions(@RequestParam("file") MultipartFile file,
+            @RequestHeader HttpHeaders headers) throws IOException {
+        transactionService.validateRequestWithHeaders(headers);
+
+        int userId = Integer.parseInt(headers.getFirst("User-ID"));
+
+        try (InputStream inputStream = file.getInputStream()) {
+            TransactionImportResult result = transactionImportService.importCsv(userId, inputStream);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        }
+    }
+}
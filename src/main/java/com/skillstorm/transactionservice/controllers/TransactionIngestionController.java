@@ -0,0 +1,59 @@
+package com.skillstorm.transactionservice.controllers;
+
+import com.skillstorm.transactionservice.exceptions.TransactionNotFoundException;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionIngestionStatus;
+import com.skillstorm.transactionservice.services.TransactionIngestionQueue;
+import com.skillstorm.transactionservice.services.TransactionIngestionQueue.Ingestion;
+import com.skillstorm.transactionservice.services.TransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+// Asynchronous transaction creation through TransactionIngestionQueue, enabled with ingestion.async.enabled
+@RestController
+@RequestMapping("/transactions/async")
+@ConditionalOnProperty(name = "ingestion.async.enabled", havingValue = "true")
+public class TransactionIngestionController {
+
+    private final TransactionService transactionService;
+
+    private final TransactionIngestionQueue ingestionQueue;
+
+    @Autowired
+    public TransactionIngestionController(TransactionService transactionService, TransactionIngestionQueue ingestionQueue) {
+        this.transactionService = transactionService;
+        this.ingestionQueue = ingestionQueue;
+    }
+
+    // Mapping for queueing a transaction. Returns 202 with a Location to poll, or 503 when the queue is full
+    @PostMapping
+    public ResponseEntity<TransactionIngestionStatus> submitTransaction(@RequestBody Transaction transaction, @RequestHeader HttpHeaders headers) {
+        transactionService.validateRequestWithHeaders(headers);
+
+        int userId = Integer.parseInt(headers.getFirst("User-ID"));
+
+        Ingestion ingestion = ingestionQueue.submit(userId, transaction);
+        return ResponseEntity.accepted()
+                .location(URI.create("/transactions/async/" + ingestion.getId()))
+                .body(ingestion.getStatus());
+    }
+
+    // Mapping for the status of a queued transaction: PENDING, COMMITTED with the saved transaction, or FAILED with the error
+    @GetMapping("/{ingestionId}")
+    public ResponseEntity<TransactionIngestionStatus> getIngestionStatus(@PathVariable String ingestionId, @RequestHeader HttpHeaders headers) {
+        transactionService.validateRequestWithHeaders(headers);
+
+        int userId = Integer.parseInt(headers.getFirst("User-ID"));
+
+        Ingestion ingestion = ingestionQueue.find(ingestionId)
+                .filter(found -> found.getUserId() == userId)
+                .orElseThrow(() -> new TransactionNotFoundException("Ingestion " + ingestionId + " not found"));
+        return new ResponseEntity<>(ingestion.getStatus(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,44 @@
+package com.skillstorm.transactionservice.exceptions;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+// GlobalExceptionHandler for the reactive read server, which is outside Spring MVC
+public class ReactiveExceptionHandler implements WebExceptionHandler {
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        // once rows have been written the status can no longer change; let the connection fail
+        if (response.isCommitted()) {
+            return Mono.error(ex);
+        }
+
+        if (ex instanceof TransactionNotFoundException) {
+            return write(response, HttpStatus.NOT_FOUND, ex.getMessage());
+        }
+        if (ex instanceof InvalidTransactionException) {
+            return write(response, HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        if (ex instanceof ResponseStatusException statusException) {
+            return write(response, statusException.getStatusCode(), statusException.getReason());
+        }
+        return Mono.error(ex);
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, HttpStatusCode status, String message) {
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+        DataBuffer body = response.bufferFactory().wrap((message == null ? "" : message).getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+}
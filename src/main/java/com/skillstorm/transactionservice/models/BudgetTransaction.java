@@ -0,0 +1,74 @@
+package com.skillstorm.transactionservice.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/*
+ * The slice of a transaction the Budget Service reads, sent as the budget-request reply.
+ * Field names match Transaction's JSON so the Budget Service can keep deserializing into its
+ * own transaction type. Built directly by a JPQL constructor expression, so no entity is loaded.
+ */
+public class BudgetTransaction {
+
+    private TransactionCategory category;
+
+    private BigDecimal amount;
+
+    private LocalDate date;
+
+    public BudgetTransaction() {
+    }
+
+    public BudgetTransaction(TransactionCategory category, BigDecimal amount, LocalDate date) {
+        this.category = category;
+        this.amount = amount;
+        this.date = date;
+    }
+
+    public TransactionCategory getCategory() {
+        return category;
+    }
+
+    public void setCategory(TransactionCategory category) {
+        this.category = category;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BudgetTransaction that = (BudgetTransaction) o;
+        return category == that.category && Objects.equals(amount, that.amount) && Objects.equals(date, that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(category, amount, date);
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetTransaction{" +
+                "category=" + category +
+                ", amount=" + amount +
+                ", date=" + date +
+                '}';
+    }
+}
@@ -0,0 +1,121 @@
+package com.skillstorm.transactionservice.models;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.*;
+
+// An Idempotency-Key used by a user, the hash of the request it came with and, once committed, the response returned
+@Entity
+@Table(name = "transaction_idempotency_key")
+@IdClass(IdempotencyKeyId.class)
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "user_id")
+    private int userId;
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, hex encoded
+    @Column(name = "request_hash")
+    private String requestHash;
+
+    @Column(name = "transaction_id")
+    private Integer transactionId;
+
+    // JSON of the created transaction; null while the request that claimed the key is still running
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    public IdempotencyKey() {
+    }
+
+    public IdempotencyKey(int userId, String idempotencyKey, String requestHash, Integer transactionId, String responseBody,
+            Instant createdAt, Instant expiresAt) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.transactionId = transactionId;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public Integer getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Integer transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IdempotencyKey that = (IdempotencyKey) o;
+        return userId == that.userId && Objects.equals(idempotencyKey, that.idempotencyKey) && Objects.equals(requestHash, that.requestHash) && Objects.equals(transactionId, that.transactionId) && Objects.equals(responseBody, that.responseBody) && Objects.equals(createdAt, that.createdAt) && Objects.equals(expiresAt, that.expiresAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, idempotencyKey, requestHash, transactionId, responseBody, createdAt, expiresAt);
+    }
+}
@@ -0,0 +1,41 @@
+package com.skillstorm.transactionservice.models;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+// Composite primary key of IdempotencyKey
+public class IdempotencyKeyId implements Serializable {
+
+    private int userId;
+
+    private String idempotencyKey;
+
+    public IdempotencyKeyId() {
+    }
+
+    public IdempotencyKeyId(int userId, String idempotencyKey) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IdempotencyKeyId that = (IdempotencyKeyId) o;
+        return userId == that.userId && Objects.equals(idempotencyKey, that.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, idempotencyKey);
+    }
+}
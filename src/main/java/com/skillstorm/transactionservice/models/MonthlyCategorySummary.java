@@ -0,0 +1,109 @@
+package com.skillstorm.transactionservice.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.*;
+
+// Running total and count of a user's transactions in one category for one month
+@Entity
+@Table(name = "transaction_monthly_summary")
+@IdClass(MonthlyCategorySummaryId.class)
+public class MonthlyCategorySummary {
+
+    @Id
+    @Column(name = "user_id")
+    private int userId;
+
+    // first day of the month being summarised
+    @Id
+    @Column(name = "summary_month")
+    private LocalDate month;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_category")
+    private TransactionCategory category;
+
+    @Column(name = "total_amount")
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count")
+    private int transactionCount;
+
+    public MonthlyCategorySummary() {
+    }
+
+    public MonthlyCategorySummary(int userId, LocalDate month, TransactionCategory category, BigDecimal totalAmount, int transactionCount) {
+        this.userId = userId;
+        this.month = month;
+        this.category = category;
+        this.totalAmount = totalAmount;
+        this.transactionCount = transactionCount;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public TransactionCategory getCategory() {
+        return category;
+    }
+
+    public void setCategory(TransactionCategory category) {
+        this.category = category;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(int transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MonthlyCategorySummary that = (MonthlyCategorySummary) o;
+        return userId == that.userId && transactionCount == that.transactionCount && Objects.equals(month, that.month) && category == that.category && Objects.equals(totalAmount, that.totalAmount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, month, category, totalAmount, transactionCount);
+    }
+
+    @Override
+    public String toString() {
+        return "MonthlyCategorySummary{" +
+                "userId=" + userId +
+                ", month=" + month +
+                ", category='" + category + '\'' +
+                ", totalAmount=" + totalAmount +
+                ", transactionCount=" + transactionCount +
+                '}';
+    }
+}
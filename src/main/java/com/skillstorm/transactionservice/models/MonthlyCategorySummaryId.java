@@ -0,0 +1,49 @@
+package com.skillstorm.transactionservice.models;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Composite primary key of MonthlyCategorySummary
+public class MonthlyCategorySummaryId implements Serializable {
+
+    private int userId;
+
+    private LocalDate month;
+
+    private TransactionCategory category;
+
+    public MonthlyCategorySummaryId() {
+    }
+
+    public MonthlyCategorySummaryId(int userId, LocalDate month, TransactionCategory category) {
+        this.userId = userId;
+        this.month = month;
+        this.category = category;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public TransactionCategory getCategory() {
+        return category;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MonthlyCategorySummaryId that = (MonthlyCategorySummaryId) o;
+        return userId == that.userId && Objects.equals(month, that.month) && category == that.category;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, month, category);
+    }
+}
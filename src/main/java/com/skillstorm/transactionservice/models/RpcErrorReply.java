@@ -0,0 +1,72 @@
+package com.skillstorm.transactionservice.models;
+
+import java.util.Objects;
+
+/*
+ * Reply sent to an RPC caller's replyTo queue when its request could not be answered, so the
+ * caller fails fast instead of waiting out its reply timeout. status follows HTTP semantics
+ * (404 not found, 400 bad request, 500 server error).
+ */
+public class RpcErrorReply {
+
+    private int status;
+
+    private String error;
+
+    private String message;
+
+    public RpcErrorReply() {
+    }
+
+    public RpcErrorReply(int status, String error, String message) {
+        this.status = status;
+        this.error = error;
+        this.message = message;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RpcErrorReply that = (RpcErrorReply) o;
+        return status == that.status && Objects.equals(error, that.error) && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, error, message);
+    }
+
+    @Override
+    public String toString() {
+        return "RpcErrorReply{" +
+                "status=" + status +
+                ", error='" + error + '\'' +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -16,11 +16,51 @@ public enum TransactionCategory {
     INCOME,
     MISC;
 
-    @Override
-    public String toString() {
+    private static final TransactionCategory[] VALUES = values();
+
+    // Computed once per constant; toString() is called for every serialized transaction
+    private final String displayName = toDisplayName(name());
+
+    // Look up a category by its display name ("Living Expenses") or constant name ("LIVING_EXPENSES").
+    // Throws IllegalArgumentException for unknown names
+    public static TransactionCategory fromDisplayName(String displayName) {
+        for (TransactionCategory category : VALUES) {
+            if (category.displayName.equals(displayName) || category.name().equals(displayName)) {
+                return category;
+            }
+        }
+        return valueOf(displayName.replace(' ', '_').toUpperCase());
+    }
+
+    // Same matching as fromDisplayName(String), ignoring case and treating spaces and underscores alike,
+    // but reading the name straight from a character buffer such as a JSON parser's.
+    // Returns null for unknown names
+    public static TransactionCategory fromDisplayName(char[] buffer, int offset, int length) {
+        for (TransactionCategory category : VALUES) {
+            if (category.matches(buffer, offset, length)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(char[] buffer, int offset, int length) {
+        String name = name();
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = buffer[offset + i];
+            if (Character.toUpperCase(c == ' ' ? '_' : c) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toDisplayName(String name) {
         // Replace underscores with spaces and capitalize each word
-        String name = name().replace('_', ' ').toLowerCase();
-        String[] words = name.split(" ");
+        String[] words = name.replace('_', ' ').toLowerCase().split(" ");
         StringBuilder displayName = new StringBuilder();
         for (String word : words) {
             displayName.append(Character.toUpperCase(word.charAt(0)))
@@ -29,4 +69,9 @@ public enum TransactionCategory {
         }
         return displayName.toString().trim();
     }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
 }
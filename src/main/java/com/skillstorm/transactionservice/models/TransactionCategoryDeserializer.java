@@ -1,6 +1,7 @@
 package com.skillstorm.transactionservice.models;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import java.io.IOException;
@@ -9,8 +10,15 @@ public class TransactionCategoryDeserializer extends JsonDeserializer<Transactio
 
     @Override
     public TransactionCategory deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        //get the text from JSON parser, replace spaces with underscores, and convert to uppercase
-        String value = p.getText().replace(' ', '_').toUpperCase();
-        return TransactionCategory.valueOf(value);
+        //match the string against the parser's own buffer so no String is built for known categories
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            TransactionCategory category = TransactionCategory.fromDisplayName(
+                    p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            if (category != null) {
+                return category;
+            }
+        }
+        //anything else goes through the String lookup, which reports unknown names as before
+        return TransactionCategory.fromDisplayName(p.getText());
     }
 }
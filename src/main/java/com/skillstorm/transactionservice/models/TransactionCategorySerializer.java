@@ -1,6 +1,7 @@
 package com.skillstorm.transactionservice.models;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
@@ -8,14 +9,22 @@ import java.io.IOException;
 
 public class TransactionCategorySerializer extends StdSerializer<TransactionCategory> {
 
+    // Display names with their quoted UTF-8 / char encodings cached, indexed by ordinal
+    private static final SerializedString[] DISPLAY_NAMES = new SerializedString[TransactionCategory.values().length];
+
+    static {
+        for (TransactionCategory category : TransactionCategory.values()) {
+            DISPLAY_NAMES[category.ordinal()] = new SerializedString(category.toString());
+        }
+    }
+
     public TransactionCategorySerializer() {
         super(TransactionCategory.class);
     }
 
     @Override
     public void serialize(TransactionCategory value, JsonGenerator gen, SerializerProvider provider) throws IOException {
-        //uses the Transaction Category's toString method
-        gen.writeString(value.toString());
+        //writes the Transaction Category's precomputed display name
+        gen.writeString(DISPLAY_NAMES[value.ordinal()]);
     }
 }
-
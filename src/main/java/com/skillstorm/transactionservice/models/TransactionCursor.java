@@ -0,0 +1,71 @@
+package com.skillstorm.transactionservice.models;
+
+import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/*
+ * Keyset position within a transaction listing ordered by (date DESC, transactionId DESC).
+ * Clients only ever see the opaque token produced by encode(), so the key layout can change
+ * without breaking them.
+ */
+public class TransactionCursor {
+
+    private final LocalDate date;
+    private final int transactionId;
+
+    public TransactionCursor(LocalDate date, int transactionId) {
+        this.date = date;
+        this.transactionId = transactionId;
+    }
+
+    // Build the cursor pointing just past the given transaction
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getDate(), transaction.getTransactionId());
+    }
+
+    // Decode an opaque token back into a cursor. Throws InvalidTransactionException if the token was tampered with
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new InvalidTransactionException("Invalid cursor");
+            }
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, separator)),
+                    Integer.parseInt(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidTransactionException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = date + ":" + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getTransactionId() {
+        return transactionId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionCursor that = (TransactionCursor) o;
+        return transactionId == that.transactionId && Objects.equals(date, that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, transactionId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.skillstorm.transactionservice.models;
+
+import java.util.Objects;
+
+// A CSV row that was rejected by the import, with the reason. row counts data rows from 1, excluding the header
+public class TransactionImportError {
+
+    private long row;
+
+    private String message;
+
+    public TransactionImportError() {
+    }
+
+    public TransactionImportError(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionImportError that = (TransactionImportError) o;
+        return row == that.row && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(row, message);
+    }
+}
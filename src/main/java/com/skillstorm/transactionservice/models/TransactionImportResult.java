@@ -0,0 +1,60 @@
+package com.skillstorm.transactionservice.models;
+
+import java.util.List;
+import java.util.Objects;
+
+// Outcome of a CSV import. errors lists at most the first few rejected rows; rejectedCount is the full count
+public class TransactionImportResult {
+
+    private long importedCount;
+
+    private long rejectedCount;
+
+    private List<TransactionImportError> errors;
+
+    public TransactionImportResult() {
+    }
+
+    public TransactionImportResult(long importedCount, long rejectedCount, List<TransactionImportError> errors) {
+        this.importedCount = importedCount;
+        this.rejectedCount = rejectedCount;
+        this.errors = errors;
+    }
+
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(long importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public List<TransactionImportError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<TransactionImportError> errors) {
+        this.errors = errors;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionImportResult that = (TransactionImportResult) o;
+        return importedCount == that.importedCount && rejectedCount == that.rejectedCount && Objects.equals(errors, that.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(importedCount, rejectedCount, errors);
+    }
+}
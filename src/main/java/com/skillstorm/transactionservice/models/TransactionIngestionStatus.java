@@ -0,0 +1,74 @@
+package com.skillstorm.transactionservice.models;
+
+import java.util.Objects;
+
+// State of a transaction submitted to the asynchronous ingestion queue. transaction is set once committed, error once failed
+public class TransactionIngestionStatus {
+
+    public enum State {
+        PENDING, COMMITTED, FAILED
+    }
+
+    private String ingestionId;
+
+    private State state;
+
+    private Transaction transaction;
+
+    private String error;
+
+    public TransactionIngestionStatus() {
+    }
+
+    public TransactionIngestionStatus(String ingestionId, State state, Transaction transaction, String error) {
+        this.ingestionId = ingestionId;
+        this.state = state;
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    public String getIngestionId() {
+        return ingestionId;
+    }
+
+    public void setIngestionId(String ingestionId) {
+        this.ingestionId = ingestionId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(Transaction transaction) {
+        this.transaction = transaction;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionIngestionStatus that = (TransactionIngestionStatus) o;
+        return Objects.equals(ingestionId, that.ingestionId) && state == that.state && Objects.equals(transaction, that.transaction) && Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ingestionId, state, transaction, error);
+    }
+}
@@ -0,0 +1,49 @@
+package com.skillstorm.transactionservice.models;
+
+import java.util.List;
+import java.util.Objects;
+
+// One page of a keyset-paginated transaction listing. nextCursor is null on the last page
+public class TransactionPage {
+
+    private List<Transaction> transactions;
+
+    private String nextCursor;
+
+    public TransactionPage() {
+    }
+
+    public TransactionPage(List<Transaction> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<Transaction> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionPage that = (TransactionPage) o;
+        return Objects.equals(transactions, that.transactions) && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(transactions, nextCursor);
+    }
+}
@@ -0,0 +1,119 @@
+package com.skillstorm.transactionservice.models;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.*;
+
+// Progress of the background purge of a user's transactions. lastError is the failure of the latest chunk, cleared once one succeeds
+@Entity
+@Table(name = "transaction_purge_job")
+public class TransactionPurgeJob {
+
+    public enum State {
+        RUNNING, COMPLETED
+    }
+
+    @Id
+    @Column(name = "user_id")
+    private int userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "purge_state")
+    private State state;
+
+    @Column(name = "deleted_count")
+    private long deletedCount;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public TransactionPurgeJob() {
+    }
+
+    public TransactionPurgeJob(int userId, State state, long deletedCount, Instant startedAt) {
+        this.userId = userId;
+        this.state = state;
+        this.deletedCount = deletedCount;
+        this.startedAt = startedAt;
+        this.updatedAt = startedAt;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public long getDeletedCount() {
+        return deletedCount;
+    }
+
+    public void setDeletedCount(long deletedCount) {
+        this.deletedCount = deletedCount;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionPurgeJob that = (TransactionPurgeJob) o;
+        return userId == that.userId && deletedCount == that.deletedCount && state == that.state && Objects.equals(lastError, that.lastError) && Objects.equals(startedAt, that.startedAt) && Objects.equals(updatedAt, that.updatedAt) && Objects.equals(completedAt, that.completedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, state, deletedCount, lastError, startedAt, updatedAt, completedAt);
+    }
+}
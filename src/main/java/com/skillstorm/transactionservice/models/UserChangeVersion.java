@@ -0,0 +1,55 @@
+package com.skillstorm.transactionservice.models;
+
+import java.util.Objects;
+
+import jakarta.persistence.*;
+
+// Number of committed writes to a user's transactions, used as the ETag of their listings
+@Entity
+@Table(name = "transaction_user_version")
+public class UserChangeVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private int userId;
+
+    @Column(name = "version")
+    private long version;
+
+    public UserChangeVersion() {
+    }
+
+    public UserChangeVersion(int userId, long version) {
+        this.userId = userId;
+        this.version = version;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserChangeVersion that = (UserChangeVersion) o;
+        return userId == that.userId && version == that.version;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, version);
+    }
+}
@@ -0,0 +1,40 @@
+package com.skillstorm.transactionservice.repositories;
+
+import com.skillstorm.transactionservice.models.IdempotencyKey;
+import com.skillstorm.transactionservice.models.IdempotencyKeyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKeyId> {
+
+    //claims a key for the caller's transaction, taking over an expired row. Returns 0 if a live row already holds the key;
+    //if another transaction is still inserting the same key, this waits for it to commit or roll back first
+    @Modifying
+    @Query(value = "INSERT INTO transaction_idempotency_key AS k (user_id, idempotency_key, request_hash, created_at, expires_at) " +
+            "VALUES (:userId, :key, :requestHash, :now, :expiresAt) " +
+            "ON CONFLICT (user_id, idempotency_key) DO UPDATE " +
+            "SET request_hash = EXCLUDED.request_hash, transaction_id = NULL, response_body = NULL, " +
+            "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE k.expires_at < EXCLUDED.created_at",
+            nativeQuery = true)
+    public int claim(@Param("userId") int userId, @Param("key") String key, @Param("requestHash") String requestHash,
+            @Param("now") Instant now, @Param("expiresAt") Instant expiresAt);
+
+    //stores the response of the request that claimed the key. Must run inside the claiming transaction
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.transactionId = :transactionId, k.responseBody = :responseBody " +
+            "WHERE k.userId = :userId AND k.idempotencyKey = :key")
+    public void complete(@Param("userId") int userId, @Param("key") String key, @Param("transactionId") int transactionId,
+            @Param("responseBody") String responseBody);
+
+    //custom query to delete the keys that expired before the given time
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    public int deleteExpired(@Param("now") Instant now);
+}
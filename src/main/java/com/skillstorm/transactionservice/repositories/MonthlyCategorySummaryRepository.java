@@ -0,0 +1,36 @@
+package com.skillstorm.transactionservice.repositories;
+
+import com.skillstorm.transactionservice.models.MonthlyCategorySummary;
+import com.skillstorm.transactionservice.models.MonthlyCategorySummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlyCategorySummaryRepository extends JpaRepository<MonthlyCategorySummary, MonthlyCategorySummaryId> {
+
+    //custom query to get the per-category totals of a user for one month, skipping categories whose transactions were all removed
+    @Query("SELECT s FROM MonthlyCategorySummary s WHERE s.userId = :userId AND s.month = :month AND s.transactionCount > 0")
+    public List<MonthlyCategorySummary> findByUserIdAndMonth(@Param("userId") int userId, @Param("month") LocalDate month);
+
+    //adds the amount and count deltas to a summary row, creating it if needed. Must run inside the caller's transaction
+    @Modifying
+    @Query(value = "INSERT INTO transaction_monthly_summary AS s (user_id, summary_month, transaction_category, total_amount, transaction_count) " +
+            "VALUES (:userId, :month, :category, :amount, :count) " +
+            "ON CONFLICT (user_id, summary_month, transaction_category) DO UPDATE " +
+            "SET total_amount = s.total_amount + EXCLUDED.total_amount, transaction_count = s.transaction_count + EXCLUDED.transaction_count",
+            nativeQuery = true)
+    public void applyDelta(@Param("userId") int userId, @Param("month") LocalDate month, @Param("category") String category,
+            @Param("amount") BigDecimal amount, @Param("count") int count);
+
+    //custom query to delete every summary row of a specific user using the userId
+    @Modifying
+    @Query("DELETE FROM MonthlyCategorySummary s WHERE s.userId = :userId")
+    public void deleteByUserId(@Param("userId") int userId);
+}
@@ -0,0 +1,70 @@
+package com.skillstorm.transactionservice.repositories;
+
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/*
+ * Non-blocking reads of the transaction table over R2DBC, for the "reactive" profile. Rows are
+ * fetched from a server-side cursor fetch-size rows at a time, and only as fast as the subscriber
+ * requests them, so a slow client holds back the query instead of the service buffering its rows.
+ * The queries mirror the TransactionRepository ones of the same name.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTransactionRepository {
+
+    private static final String COLUMNS = "SELECT transaction_id, user_id, account_id, vendor_name, transaction_amount, "
+            + "transaction_category, transaction_description, transaction_date FROM transaction ";
+
+    private final DatabaseClient databaseClient;
+
+    private final int fetchSize;
+
+    public ReactiveTransactionRepository(DatabaseClient databaseClient,
+            @Value("${reactive.r2dbc.fetch-size:250}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    // all transactions of a user
+    public Flux<Transaction> findByUserId(int userId) {
+        return query(COLUMNS + "WHERE user_id = :id", userId);
+    }
+
+    // all transactions of an account
+    public Flux<Transaction> findByAccountId(int accountId) {
+        return query(COLUMNS + "WHERE account_id = :id", accountId);
+    }
+
+    // the recent 5 transactions of a user excluding the INCOME category
+    public Flux<Transaction> findRecentFiveTransaction(int userId) {
+        return query(COLUMNS + "WHERE user_id = :id AND transaction_category <> 'INCOME' "
+                + "ORDER BY transaction_date DESC LIMIT 5", userId);
+    }
+
+    private Flux<Transaction> query(String sql, int id) {
+        return databaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .bind("id", id)
+                .map(ReactiveTransactionRepository::toTransaction)
+                .all();
+    }
+
+    static Transaction toTransaction(Readable row) {
+        Transaction transaction = new Transaction(row.get("user_id", Integer.class), row.get("account_id", Integer.class),
+                row.get("vendor_name", String.class), row.get("transaction_amount", BigDecimal.class),
+                TransactionCategory.valueOf(row.get("transaction_category", String.class)),
+                row.get("transaction_description", String.class), row.get("transaction_date", LocalDate.class));
+        transaction.setTransactionId(row.get("transaction_id", Integer.class));
+        return transaction;
+    }
+}
@@ -0,0 +1,37 @@
+package com.skillstorm.transactionservice.repositories;
+
+import com.skillstorm.transactionservice.models.TransactionPurgeJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionPurgeJobRepository extends JpaRepository<TransactionPurgeJob, Integer> {
+
+    //custom query to load a user's purge job and lock it until the caller's transaction ends, so one chunk runs at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM TransactionPurgeJob j WHERE j.userId = :userId")
+    public Optional<TransactionPurgeJob> findByUserIdForUpdate(@Param("userId") int userId);
+
+    //custom query to get the users whose purge has not finished yet
+    @Query("SELECT j.userId FROM TransactionPurgeJob j WHERE j.state = com.skillstorm.transactionservice.models.TransactionPurgeJob.State.RUNNING")
+    public List<Integer> findRunningUserIds();
+
+    //starts a purge for the user, restarting a finished one. A purge that is already running is left as it is
+    @Modifying
+    @Query(value = "INSERT INTO transaction_purge_job AS j (user_id, purge_state, deleted_count, started_at, updated_at) " +
+            "VALUES (:userId, 'RUNNING', 0, :now, :now) " +
+            "ON CONFLICT (user_id) DO UPDATE SET purge_state = 'RUNNING', deleted_count = 0, last_error = NULL, " +
+            "started_at = EXCLUDED.started_at, updated_at = EXCLUDED.updated_at, completed_at = NULL " +
+            "WHERE j.purge_state <> 'RUNNING'",
+            nativeQuery = true)
+    public void start(@Param("userId") int userId, @Param("now") Instant now);
+}
@@ -1,15 +1,22 @@
 package com.skillstorm.transactionservice.repositories;
 
+import com.skillstorm.transactionservice.models.BudgetTransaction;
 import com.skillstorm.transactionservice.models.Transaction;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Integer>{
@@ -19,9 +26,21 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
     @Query("SELECT t FROM Transaction t WHERE t.userId = :userId")
     public Optional<List<Transaction>> findByUserId(@Param("userId") int userId);
 
-    //custom query to retrieve a list of transactions from a specifc user using user id exluding the INCOME category of transactions
-    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.category != 'INCOME'")
-    public Optional<List<Transaction>> findByUserIdExcludeIncome(@Param("userId") int userId);
+    //custom query to retrieve the category, amount and date of a specifc user's transactions exluding the INCOME category.
+    //the constructor expression skips entity hydration and persistence-context snapshots entirely
+    @Query("SELECT new com.skillstorm.transactionservice.models.BudgetTransaction(t.category, t.amount, t.date) "
+            + "FROM Transaction t WHERE t.userId = :userId AND t.category != 'INCOME'")
+    public Optional<List<BudgetTransaction>> findBudgetTransactionsByUserId(@Param("userId") int userId);
+
+    //custom query to retrieve the transactions of several users in one round trip, for account-batch-request
+    @Query("SELECT t FROM Transaction t WHERE t.userId IN :userIds")
+    public List<Transaction> findByUserIdIn(@Param("userIds") Collection<Integer> userIds);
+
+    //custom query to retrieve [userId, category, amount, date] rows of several users' transactions exluding the INCOME
+    //category, for budget-batch-request. userId is only needed to group the rows, so it is not part of BudgetTransaction
+    @Query("SELECT t.userId, t.category, t.amount, t.date FROM Transaction t "
+            + "WHERE t.userId IN :userIds AND t.category != 'INCOME'")
+    public List<Object[]> findBudgetTransactionRowsByUserIdIn(@Param("userIds") Collection<Integer> userIds);
 
     //custom query to retrieve a list of transactions from a specific account using the account id
     @Query("SELECT t FROM Transaction t WHERE t.accountId = :accountId")
@@ -35,15 +54,44 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
     @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.category != 'INCOME' ORDER BY t.date DESC LIMIT 5")
     public Optional<List<Transaction>> findRecentFiveTransaction(@Param("userId") int userId);
 
-    //custom query to get the transaction for the current month excluding the INCOME category of transactions
-    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.category != 'INCOME' AND EXTRACT(MONTH from t.date) = :month AND EXTRACT(YEAR from t.date) = :year")
-    public Optional<List<Transaction>> findTransactionFromCurrentMonth(@Param("userId") int userId, @Param("month") int month, @Param("year") int year);
+    //custom query to get the transactions dated within the half-open range [from, to) excluding the INCOME category of transactions.
+    //Comparing the raw date column keeps the predicate index-friendly. Pageable only carries the row limit
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.category != 'INCOME' AND t.date >= :from AND t.date < :to ORDER BY t.date DESC, t.transactionId DESC")
+    public List<Transaction> findTransactionsInDateRange(@Param("userId") int userId, @Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    //keyset pagination: first page of a user's transactions, newest first. Pageable only carries the page size
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId ORDER BY t.date DESC, t.transactionId DESC")
+    public List<Transaction> findFirstPageByUserId(@Param("userId") int userId, Pageable pageable);
+
+    //keyset pagination: the page of a user's transactions that follows the (date, transactionId) cursor
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.date <= :date AND (t.date < :date OR t.transactionId < :transactionId) ORDER BY t.date DESC, t.transactionId DESC")
+    public List<Transaction> findPageByUserIdAfter(@Param("userId") int userId, @Param("date") LocalDate date, @Param("transactionId") int transactionId, Pageable pageable);
+
+    //keyset pagination: first page of an account's transactions, newest first
+    @Query("SELECT t FROM Transaction t WHERE t.accountId = :accountId ORDER BY t.date DESC, t.transactionId DESC")
+    public List<Transaction> findFirstPageByAccountId(@Param("accountId") int accountId, Pageable pageable);
+
+    //keyset pagination: the page of an account's transactions that follows the (date, transactionId) cursor
+    @Query("SELECT t FROM Transaction t WHERE t.accountId = :accountId AND t.date <= :date AND (t.date < :date OR t.transactionId < :transactionId) ORDER BY t.date DESC, t.transactionId DESC")
+    public List<Transaction> findPageByAccountIdAfter(@Param("accountId") int accountId, @Param("date") LocalDate date, @Param("transactionId") int transactionId, Pageable pageable);
+
+    //streams every transaction of a user in id order. The fetch size bounds how many rows the JDBC driver buffers at a time;
+    //callers must consume the stream inside a read-only transaction and close it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId ORDER BY t.transactionId")
+    public Stream<Transaction> streamByUserId(@Param("userId") int userId);
 
-    //custom query to delete transactions that are associated to a specific user using the userId
-    @Transactional
+    //deletes up to chunkSize of a user's transactions, newest first, for the background purge. The order matches
+    //idx_transaction_user_date so each chunk is read straight off the index without a sort.
+    //Returns the number deleted; fewer than chunkSize means none are left. Must run inside the caller's transaction
     @Modifying
-    @Query("DELETE FROM Transaction t WHERE t.userId = :userId")
-    public void deleteTransactionsByUserId(@Param("userId") int userId);
+    @Query(value = "DELETE FROM transaction WHERE transaction_id IN (SELECT transaction_id FROM transaction " +
+            "WHERE user_id = :userId ORDER BY transaction_date DESC, transaction_id DESC LIMIT :chunkSize)",
+            nativeQuery = true)
+    public int deleteChunkByUserId(@Param("userId") int userId, @Param("chunkSize") int chunkSize);
 
 
 
@@ -0,0 +1,25 @@
+package com.skillstorm.transactionservice.repositories;
+
+import com.skillstorm.transactionservice.models.UserChangeVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserChangeVersionRepository extends JpaRepository<UserChangeVersion, Integer> {
+
+    //custom query to get the current change version of a user, empty if they never wrote
+    @Query("SELECT v.version FROM UserChangeVersion v WHERE v.userId = :userId")
+    public Optional<Long> findVersionByUserId(@Param("userId") int userId);
+
+    //increments the change version of a user, creating it at 1 if needed. Must run inside the caller's transaction
+    @Modifying
+    @Query(value = "INSERT INTO transaction_user_version AS v (user_id, version) VALUES (:userId, 1) " +
+            "ON CONFLICT (user_id) DO UPDATE SET version = v.version + 1",
+            nativeQuery = true)
+    public void increment(@Param("userId") int userId);
+}
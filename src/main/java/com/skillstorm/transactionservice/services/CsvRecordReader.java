@@ -0,0 +1,92 @@
+package com.skillstorm.transactionservice.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Minimal streaming RFC 4180 reader: comma separated, optional double quotes, "" as an escaped
+ * quote, and line breaks allowed inside quoted fields. Reads one record at a time so an upload
+ * never has to fit in memory.
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+
+    private int lookahead = -2;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Returns the next record, or null at end of input. Blank lines are skipped
+    List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean sawAnything = false;
+
+        while (true) {
+            int c = next();
+            if (c == -1) {
+                if (!sawAnything) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        next();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    next();
+                }
+                if (!sawAnything) {
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+
+            sawAnything = true;
+            if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int next() throws IOException {
+        if (lookahead != -2) {
+            int c = lookahead;
+            lookahead = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (lookahead == -2) {
+            lookahead = reader.read();
+        }
+        return lookahead;
+    }
+}
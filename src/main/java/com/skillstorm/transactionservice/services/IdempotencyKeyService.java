@@ -0,0 +1,170 @@
+package com.skillstorm.transactionservice.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
+import com.skillstorm.transactionservice.models.IdempotencyKey;
+import com.skillstorm.transactionservice.models.IdempotencyKeyId;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.repositories.IdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/*
+ * Idempotency-Key support for POST /transactions. The first request with a key claims it in
+ * transaction_idempotency_key inside the same database transaction that creates the transaction,
+ * and stores the created transaction as the response. A retry with the same key and the same body
+ * gets that response back without a second insert; the same key with a different body is
+ * rejected with 422. A concurrent retry waits on the claim and then replays the committed response.
+ *
+ * Recently completed keys are also kept in a bounded in-memory cache (idempotency.cache-size), so
+ * most retries are answered without touching the database. Keys expire after idempotency.ttl-ms;
+ * an expired key can be reused, and expired rows are purged every idempotency.purge-interval-ms.
+ */
+@Service
+public class IdempotencyKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyKeyService.class);
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final TransactionService transactionService;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration ttl;
+
+    private final Cache<String, StoredResponse> recentResponses;
+
+    public IdempotencyKeyService(IdempotencyKeyRepository idempotencyKeyRepository, TransactionService transactionService,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            @Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+            @Value("${idempotency.cache-size:10000}") long cacheSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionService = transactionService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.recentResponses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // Create the transaction unless this user already used the key, in which case the original response is returned
+    public Transaction createTransaction(int userId, String idempotencyKey, Transaction transaction) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidTransactionException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        transaction.setUserId(userId);
+        String requestHash = requestHash(transaction);
+        String cacheKey = userId + ":" + idempotencyKey;
+
+        StoredResponse cached = recentResponses.getIfPresent(cacheKey);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            if (idempotencyKeyRepository.claim(userId, idempotencyKey, requestHash, now, now.plus(ttl)) == 0) {
+                StoredResponse stored = load(userId, idempotencyKey);
+                recentResponses.put(cacheKey, stored);
+                return replay(stored, requestHash);
+            }
+
+            Transaction savedTransaction = transactionService.createTransaction(userId, transaction);
+            String responseBody = toJson(savedTransaction);
+            idempotencyKeyRepository.complete(userId, idempotencyKey, savedTransaction.getTransactionId(), responseBody);
+
+            StoredResponse response = new StoredResponse(requestHash, responseBody);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentResponses.put(cacheKey, response);
+                }
+            });
+            return savedTransaction;
+        });
+    }
+
+    // Delete the expired keys; the primary key index still finds live ones quickly, this only bounds the table size
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}", initialDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        Integer purged = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(Instant.now()));
+        log.debug("Purged {} expired idempotency keys", purged);
+    }
+
+    // The committed response of a key held by another request
+    private StoredResponse load(int userId, String idempotencyKey) {
+        IdempotencyKey stored = idempotencyKeyRepository.findById(new IdempotencyKeyId(userId, idempotencyKey))
+                .filter(key -> key.getResponseBody() != null)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A request with this Idempotency-Key is still in progress"));
+        return new StoredResponse(stored.getRequestHash(), stored.getResponseBody());
+    }
+
+    // A fresh copy of the stored response, if it was for the same request
+    private Transaction replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request");
+        }
+        try {
+            return objectMapper.readValue(stored.responseBody, Transaction.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not a transaction", e);
+        }
+    }
+
+    private String toJson(Transaction transaction) {
+        try {
+            return objectMapper.writeValueAsString(transaction);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Transaction could not be serialized", e);
+        }
+    }
+
+    // SHA-256 of the request as the service sees it, so formatting differences in the client's JSON do not matter
+    private String requestHash(Transaction transaction) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(transaction)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Request could not be hashed", e);
+        }
+    }
+
+    private static final class StoredResponse {
+
+        private final String requestHash;
+
+        private final String responseBody;
+
+        private StoredResponse(String requestHash, String responseBody) {
+            this.requestHash = requestHash;
+            this.responseBody = responseBody;
+        }
+    }
+}
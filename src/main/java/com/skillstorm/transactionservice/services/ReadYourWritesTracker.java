@@ -0,0 +1,46 @@
+package com.skillstorm.transactionservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/*
+ * Remembers which users wrote recently, so their reads can be kept on the primary database
+ * until the read replica has caught up (see configs.ReplicaRoutingDataSource). A write counts
+ * from the moment its transaction commits and is forgotten after datasource.replica.stickiness-ms,
+ * which should be longer than datasource.replica.max-lag-ms.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Cache<Integer, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(@Value("${datasource.replica.stickiness-ms:5000}") long stickinessMillis) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickinessMillis))
+                .build();
+    }
+
+    // Record a write by the user, deferred until after commit when called inside a transaction
+    public void recordWrite(int userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(userId, Boolean.TRUE);
+                }
+            });
+        } else {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently(int userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,120 @@
+package com.skillstorm.transactionservice.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+ * Single-flight coalescing for read lookups. The first caller for an (operation, key) pair runs
+ * the lookup on its own thread; callers that arrive while it is still running wait for and share
+ * its result (or its exception) instead of issuing the same query again. Nothing is cached: the
+ * entry is removed as soon as the lookup finishes, so later callers always see fresh data.
+ *
+ * A caller waits at most coalescer.max-wait-ms for another caller's lookup and then runs the
+ * lookup itself, so one slow query cannot hold every caller behind it. Callers must not hold a
+ * database transaction while calling execute(); the lookup should open its own.
+ *
+ * Metrics, tagged by operation:
+ *   transaction.coalescer.requests{result=executed|coalesced|timed.out}  lookups run, callers that shared
+ *                                                                        one, and callers that gave up waiting;
+ *                                                                        each caller is counted under one result
+ *   transaction.coalescer.in.flight                                      lookups currently running, all operations
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> executedCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> timedOutCounters = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final long maxWaitMillis;
+
+    public RequestCoalescer(MeterRegistry meterRegistry, @Value("${coalescer.max-wait-ms:2000}") long maxWaitMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxWaitMillis = maxWaitMillis;
+        Gauge.builder("transaction.coalescer.in.flight", inFlight, Map::size)
+                .description("Coalesced lookups currently running")
+                .register(meterRegistry);
+    }
+
+    // Run the lookup, or join the identical one already running on another thread
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> lookup) {
+        String flightKey = operation + ':' + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing != null) {
+            Object shared;
+            try {
+                shared = await(existing, maxWaitMillis);
+            } catch (TimeoutException e) {
+                // the shared lookup is slow; run our own rather than keep waiting on it
+                counter(timedOutCounters, operation, "timed.out").increment();
+                return lookup.get();
+            } catch (RuntimeException | Error e) {
+                counter(coalescedCounters, operation, "coalesced").increment();
+                throw e;
+            }
+            counter(coalescedCounters, operation, "coalesced").increment();
+            return (T) shared;
+        }
+
+        counter(executedCounters, operation, "executed").increment();
+        try {
+            T result = lookup.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    // Wait for another caller's lookup, rethrowing its exception as-is. An interrupt counts as a timeout
+    private static Object await(CompletableFuture<Object> flight, long maxWaitMillis) throws TimeoutException {
+        try {
+            return flight.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for a coalesced lookup");
+        } catch (ExecutionException | CancellationException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String operation, String result) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder("transaction.coalescer.requests")
+                .tag("operation", op)
+                .tag("result", result)
+                .description("Lookups executed vs. callers that shared an in-flight lookup")
+                .register(meterRegistry));
+    }
+}
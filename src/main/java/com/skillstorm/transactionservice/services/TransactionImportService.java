@@ -0,0 +1,280 @@
+package com.skillstorm.transactionservice.services;
+
+import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.models.TransactionImportError;
+import com.skillstorm.transactionservice.models.TransactionImportResult;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Bulk import of bank statement CSV files. Rows are parsed and validated one at a time and the
+ * valid ones are streamed into a temporary staging table with the PostgreSQL COPY protocol.
+ * The staging rows are then merged into transaction (and the monthly rollup) with two set-based
+ * statements. Invalid rows are reported back instead of failing the whole file.
+ */
+@Service
+public class TransactionImportService {
+
+    // how many rejected rows are listed in the result; the rest are only counted
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    // columns the CSV header must contain. description is optional
+    public static final List<String> REQUIRED_COLUMNS = List.of("accountId", "vendorName", "amount", "category", "date");
+
+    // characters buffered before each write to the COPY stream
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // DECIMAL(10, 2) holds amounts below 10^8 with at most 2 decimal places
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("100000000");
+
+    private static final int MAX_AMOUNT_SCALE = 2;
+
+    // ids per nextval, matches the allocationSize of Transaction's transaction_id_generator and V4's INCREMENT BY
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String CREATE_STAGING_SQL = "CREATE TEMPORARY TABLE IF NOT EXISTS transaction_import_staging ("
+            + "user_id INT NOT NULL, account_id INT NOT NULL, vendor_name VARCHAR(100) NOT NULL, "
+            + "transaction_date DATE NOT NULL, transaction_amount DECIMAL(10, 2) NOT NULL, "
+            + "transaction_description VARCHAR(500), transaction_category VARCHAR(50) NOT NULL) ON COMMIT DROP";
+
+    private static final String COPY_SQL = "COPY transaction_import_staging (user_id, account_id, vendor_name, "
+            + "transaction_date, transaction_amount, transaction_description, transaction_category) FROM STDIN WITH (FORMAT csv)";
+
+    /*
+     * Ids are assigned the way Hibernate's pooled optimizer does: one nextval per ID_BLOCK_SIZE staged
+     * rows, and the rows of a block take hi - ID_BLOCK_SIZE + 1 .. hi. Leaving transaction_id to the
+     * column default would spend a whole block of the sequence on every imported row. The blocks
+     * CTE is materialized so each nextval runs exactly once
+     */
+    private static final String MERGE_TRANSACTIONS_SQL = "WITH staged AS ("
+            + "SELECT s.*, row_number() OVER () - 1 AS n FROM transaction_import_staging s), "
+            + "blocks AS MATERIALIZED ("
+            + "SELECT block, nextval('transaction_transaction_id_seq') AS hi FROM generate_series(0, "
+            + "(SELECT (COUNT(*) - 1) / " + ID_BLOCK_SIZE + " FROM transaction_import_staging)) AS block) "
+            + "INSERT INTO transaction (transaction_id, user_id, account_id, vendor_name, "
+            + "transaction_date, transaction_amount, transaction_description, transaction_category) "
+            + "SELECT b.hi - " + (ID_BLOCK_SIZE - 1) + " + staged.n % " + ID_BLOCK_SIZE + ", user_id, account_id, "
+            + "vendor_name, transaction_date, transaction_amount, transaction_description, transaction_category "
+            + "FROM staged JOIN blocks b ON b.block = staged.n / " + ID_BLOCK_SIZE;
+
+    private static final String MERGE_SUMMARY_SQL = "INSERT INTO transaction_monthly_summary AS s (user_id, summary_month, "
+            + "transaction_category, total_amount, transaction_count) "
+            + "SELECT user_id, CAST(date_trunc('month', transaction_date) AS DATE), transaction_category, "
+            + "SUM(transaction_amount), COUNT(*) FROM transaction_import_staging "
+            + "GROUP BY user_id, CAST(date_trunc('month', transaction_date) AS DATE), transaction_category "
+            + "ON CONFLICT (user_id, summary_month, transaction_category) DO UPDATE "
+            + "SET total_amount = s.total_amount + EXCLUDED.total_amount, "
+            + "transaction_count = s.transaction_count + EXCLUDED.transaction_count";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    // Import every valid row of the CSV for the given user in one database transaction
+    @Transactional
+    public TransactionImportResult importCsv(int userId, InputStream inputStream) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        Map<String, Integer> columns = readHeader(csv.readRecord());
+
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+
+        long imported = 0;
+        long rejected = 0;
+        List<TransactionImportError> errors = new ArrayList<>();
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+                long row = 0;
+                List<String> record;
+                while ((record = csv.readRecord()) != null) {
+                    row++;
+                    try {
+                        Transaction transaction = toTransaction(userId, record, columns);
+                        transactionService.validateNewTransaction(transaction);
+                        appendCopyRow(buffer, transaction);
+                        imported++;
+                    } catch (InvalidTransactionException e) {
+                        rejected++;
+                        if (errors.size() < MAX_REPORTED_ERRORS) {
+                            errors.add(new TransactionImportError(row, e.getMessage()));
+                        }
+                    }
+
+                    if (buffer.length() >= COPY_BUFFER_SIZE) {
+                        writeToCopy(copyIn, buffer);
+                    }
+                }
+                writeToCopy(copyIn, buffer);
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } catch (SQLException e) {
+            throw jdbcTemplate.getExceptionTranslator().translate("COPY transaction import", COPY_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        if (imported > 0) {
+            jdbcTemplate.update(MERGE_TRANSACTIONS_SQL);
+            jdbcTemplate.update(MERGE_SUMMARY_SQL);
+            transactionService.recordUserWrite(userId);
+        }
+
+        return new TransactionImportResult(imported, rejected, errors);
+    }
+
+    // helper method to map header names to column positions and make sure the required ones are there
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new InvalidTransactionException("The CSV file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // strip a UTF-8 byte order mark left in front of the first column name
+            String name = header.get(i).replace("\uFEFF", "").trim();
+            columns.put(name, i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidTransactionException("The CSV header is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    // helper method to turn one CSV record into a Transaction. Throws InvalidTransactionException describing the first bad field
+    private Transaction toTransaction(int userId, List<String> record, Map<String, Integer> columns) {
+        Transaction transaction = new Transaction();
+        transaction.setUserId(userId);
+
+        String accountId = field(record, columns, "accountId");
+        try {
+            transaction.setAccountId(accountId.isEmpty() ? 0 : Integer.parseInt(accountId));
+        } catch (NumberFormatException e) {
+            throw new InvalidTransactionException("Invalid accountId " + accountId);
+        }
+
+        String vendorName = field(record, columns, "vendorName");
+        if (vendorName.length() > 100) {
+            throw new InvalidTransactionException("Vendor name is longer than 100 characters");
+        }
+        transaction.setVendorName(vendorName);
+
+        String amount = field(record, columns, "amount");
+        try {
+            transaction.setAmount(amount.isEmpty() ? BigDecimal.ZERO : new BigDecimal(amount));
+        } catch (NumberFormatException e) {
+            throw new InvalidTransactionException("Invalid amount " + amount);
+        }
+        if (transaction.getAmount().compareTo(MAX_AMOUNT) >= 0) {
+            throw new InvalidTransactionException("Amount " + amount + " is too large");
+        }
+        // checked here rather than left to the database, where rounding could overflow and abort the whole COPY
+        if (transaction.getAmount().stripTrailingZeros().scale() > MAX_AMOUNT_SCALE) {
+            throw new InvalidTransactionException("Amount " + amount + " has more than " + MAX_AMOUNT_SCALE + " decimal places");
+        }
+
+        String category = field(record, columns, "category");
+        if (!category.isEmpty()) {
+            try {
+                transaction.setCategory(TransactionCategory.fromDisplayName(category));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidTransactionException("Unknown category " + category);
+            }
+        }
+
+        String date = field(record, columns, "date");
+        if (!date.isEmpty()) {
+            try {
+                transaction.setDate(LocalDate.parse(date));
+            } catch (DateTimeParseException e) {
+                throw new InvalidTransactionException("Invalid date " + date + ", expected yyyy-MM-dd");
+            }
+        }
+
+        if (columns.containsKey("description")) {
+            String description = field(record, columns, "description");
+            if (description.length() > 500) {
+                throw new InvalidTransactionException("Description is longer than 500 characters");
+            }
+            transaction.setDescription(description.isEmpty() ? null : description);
+        }
+
+        if (vendorName.indexOf('\0') >= 0
+                || (transaction.getDescription() != null && transaction.getDescription().indexOf('\0') >= 0)) {
+            throw new InvalidTransactionException("Text fields must not contain NUL characters");
+        }
+
+        return transaction;
+    }
+
+    // helper method to read a trimmed field by column name. Short records yield empty strings
+    private String field(List<String> record, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        return index < record.size() ? record.get(index).trim() : "";
+    }
+
+    // helper method to append a validated transaction in COPY csv format. An unquoted empty field is NULL
+    private void appendCopyRow(StringBuilder buffer, Transaction transaction) {
+        buffer.append(transaction.getUserId()).append(',')
+                .append(transaction.getAccountId()).append(',');
+        appendQuoted(buffer, transaction.getVendorName());
+        buffer.append(',').append(transaction.getDate())
+                .append(',').append(transaction.getAmount().toPlainString())
+                .append(',');
+        if (transaction.getDescription() != null) {
+            appendQuoted(buffer, transaction.getDescription());
+        }
+        buffer.append(',').append(transaction.getCategory().name()).append('\n');
+    }
+
+    private void appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,260 @@
+package com.skillstorm.transactionservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionIngestionStatus;
+import com.skillstorm.transactionservice.models.TransactionIngestionStatus.State;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Write-behind ingestion for single transaction creates, enabled with ingestion.async.enabled.
+ * submit() validates the transaction and puts it on a bounded queue; one writer thread takes up
+ * to batch-size queued transactions, waiting at most max-wait-ms after the first for more to
+ * arrive, and saves them with TransactionService.createIngestedTransactions in one database
+ * transaction. If that group commit fails, the batch is retried one transaction at a time so only
+ * the offending entries fail. When the queue is full submit() is rejected with 503 instead of
+ * blocking the caller. On shutdown the writer drains what is already queued.
+ *
+ * Callers get an Ingestion whose future completes with the saved transaction; its status stays
+ * available by id for status-retention-ms after submission. At most status-capacity statuses are
+ * kept, so under a sustained burst the oldest can be dropped before then and their status lookup
+ * answers 404 even though the transaction was saved.
+ *
+ * Metrics:
+ *   transaction.ingestion.queue.size     transactions waiting for the writer
+ *   transaction.ingestion.batch.size     transactions per group commit
+ *   transaction.ingestion.rejected       submissions refused because the queue was full
+ */
+@Component
+@ConditionalOnProperty(name = "ingestion.async.enabled", havingValue = "true")
+public class TransactionIngestionQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionIngestionQueue.class);
+
+    private final TransactionService transactionService;
+
+    private final BlockingQueue<Ingestion> queue;
+
+    private final int batchSize;
+
+    private final long maxWaitNanos;
+
+    private final Cache<String, Ingestion> ingestions;
+
+    private final DistributionSummary batchSizes;
+
+    private final Counter rejected;
+
+    private volatile boolean running;
+
+    private volatile boolean accepting = true;
+
+    private Thread writer;
+
+    public TransactionIngestionQueue(TransactionService transactionService, MeterRegistry meterRegistry,
+            @Value("${ingestion.async.queue-capacity:10000}") int queueCapacity,
+            @Value("${ingestion.async.batch-size:500}") int batchSize,
+            @Value("${ingestion.async.max-wait-ms:20}") long maxWaitMillis,
+            @Value("${ingestion.async.status-retention-ms:600000}") long statusRetentionMillis,
+            @Value("${ingestion.async.status-capacity:100000}") long statusCapacity) {
+        this.transactionService = transactionService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.ingestions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(statusRetentionMillis))
+                .maximumSize(statusCapacity)
+                .build();
+        Gauge.builder("transaction.ingestion.queue.size", queue, BlockingQueue::size)
+                .description("Transactions waiting to be written by the ingestion queue")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("transaction.ingestion.batch.size")
+                .description("Transactions saved per group commit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("transaction.ingestion.rejected")
+                .description("Submissions refused because the ingestion queue was full")
+                .register(meterRegistry);
+    }
+
+    // Validate and enqueue a transaction for the user; invalid transactions are rejected before queueing
+    public Ingestion submit(int userId, Transaction transaction) {
+        transaction.setUserId(userId);
+        transactionService.validateNewTransaction(transaction);
+
+        Ingestion ingestion = new Ingestion(UUID.randomUUID().toString(), userId, transaction);
+        // registered first so the status is visible even if the writer commits before this returns
+        ingestions.put(ingestion.getId(), ingestion);
+        if (!accepting || !queue.offer(ingestion)) {
+            ingestions.invalidate(ingestion.getId());
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Transaction ingestion queue is full, retry later");
+        }
+        return ingestion;
+    }
+
+    // The ingestion with this id, if it was submitted within the status retention period
+    public Optional<Ingestion> find(String ingestionId) {
+        return Optional.ofNullable(ingestions.getIfPresent(ingestionId));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        accepting = true;
+        writer = new Thread(this::writeUntilStopped, "transaction-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Stop accepting submissions and wait for the writer to commit what is already queued
+    @Override
+    public synchronized void stop() {
+        accepting = false;
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // submissions that raced with shutdown and missed the writer
+        for (Ingestion ingestion = queue.poll(); ingestion != null; ingestion = queue.poll()) {
+            ingestion.future.completeExceptionally(
+                    new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Transaction ingestion stopped before commit"));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server, so requests it is still finishing can enqueue and be committed
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void writeUntilStopped() {
+        List<Ingestion> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Ingestion first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < batchSize) {
+                    Ingestion next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One group commit; on failure each transaction is retried on its own so one bad row does not fail the rest
+    void commit(List<Ingestion> batch) {
+        batchSizes.record(batch.size());
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (Ingestion ingestion : batch) {
+            transactions.add(ingestion.transaction);
+        }
+        try {
+            List<Transaction> saved = transactionService.createIngestedTransactions(transactions);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(saved.get(i));
+            }
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} transactions failed, retrying them one at a time", batch.size(), e);
+        }
+        for (Ingestion ingestion : batch) {
+            // ids assigned during the rolled back attempt were never stored
+            ingestion.transaction.setTransactionId(0);
+            try {
+                ingestion.future.complete(transactionService.createTransaction(ingestion.userId, ingestion.transaction));
+            } catch (RuntimeException e) {
+                ingestion.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    // A submitted transaction and the future of its commit
+    public static final class Ingestion {
+
+        private final String id;
+
+        private final int userId;
+
+        private final Transaction transaction;
+
+        private final CompletableFuture<Transaction> future = new CompletableFuture<>();
+
+        private Ingestion(String id, int userId, Transaction transaction) {
+            this.id = id;
+            this.userId = userId;
+            this.transaction = transaction;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        // Completes with the saved transaction, or exceptionally with the reason it could not be saved
+        public CompletableFuture<Transaction> getFuture() {
+            return future;
+        }
+
+        public TransactionIngestionStatus getStatus() {
+            if (!future.isDone()) {
+                return new TransactionIngestionStatus(id, State.PENDING, null, null);
+            }
+            try {
+                return new TransactionIngestionStatus(id, State.COMMITTED, future.join(), null);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                return new TransactionIngestionStatus(id, State.FAILED, null, cause.getMessage());
+            }
+        }
+    }
+}
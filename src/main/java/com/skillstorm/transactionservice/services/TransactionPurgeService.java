@@ -0,0 +1,176 @@
+package com.skillstorm.transactionservice.services;
+
+import com.skillstorm.transactionservice.models.TransactionPurgeJob;
+import com.skillstorm.transactionservice.models.TransactionPurgeJob.State;
+import com.skillstorm.transactionservice.repositories.MonthlyCategorySummaryRepository;
+import com.skillstorm.transactionservice.repositories.TransactionPurgeJobRepository;
+import com.skillstorm.transactionservice.repositories.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * Background purge of all of a user's transactions. requestPurge() records a RUNNING job in
+ * transaction_purge_job and returns at once; a worker then deletes the user's transactions newest
+ * first, in idx_transaction_user_date order, at most purge.chunk-size per database transaction, pausing purge.throttle-ms
+ * between chunks so locks and WAL are spread out. Each chunk updates the job's deletedCount in the
+ * same transaction, so getStatus() shows committed progress. When a chunk finds nothing left the
+ * user's monthly summary rows are deleted and the job is marked COMPLETED.
+ *
+ * Jobs are resumable: every purge.rescan-interval-ms, and right after startup, RUNNING jobs that
+ * no worker here is processing are picked up again. That covers restarts, other instances that
+ * stopped mid-purge and chunks that failed. Each chunk locks the job row, so instances sharing a
+ * job never delete concurrently for the same user.
+ */
+@Service
+public class TransactionPurgeService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPurgeService.class);
+
+    private final TransactionPurgeJobRepository purgeJobRepository;
+
+    private final TransactionRepository transactionRepository;
+
+    private final MonthlyCategorySummaryRepository summaryRepository;
+
+    private final TransactionService transactionService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    private final long throttleMillis;
+
+    private final ExecutorService workers;
+
+    // users whose purge is queued or running on this instance
+    private final Set<Integer> active = ConcurrentHashMap.newKeySet();
+
+    public TransactionPurgeService(TransactionPurgeJobRepository purgeJobRepository, TransactionRepository transactionRepository,
+            MonthlyCategorySummaryRepository summaryRepository, TransactionService transactionService,
+            PlatformTransactionManager transactionManager,
+            @Value("${purge.chunk-size:1000}") int chunkSize,
+            @Value("${purge.throttle-ms:100}") long throttleMillis,
+            @Value("${purge.workers:1}") int workerCount) {
+        this.purgeJobRepository = purgeJobRepository;
+        this.transactionRepository = transactionRepository;
+        this.summaryRepository = summaryRepository;
+        this.transactionService = transactionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.throttleMillis = throttleMillis;
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "transaction-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Start purging the user's transactions, or return the purge already running. The worker starts after the job is committed
+    public TransactionPurgeJob requestPurge(int userId) {
+        return transactionTemplate.execute(status -> {
+            purgeJobRepository.start(userId, Instant.now());
+            TransactionPurgeJob job = purgeJobRepository.findByUserIdForUpdate(userId).orElseThrow();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(userId);
+                }
+            });
+            return job;
+        });
+    }
+
+    // The user's latest purge, running or completed
+    public Optional<TransactionPurgeJob> getStatus(int userId) {
+        return purgeJobRepository.findById(userId);
+    }
+
+    // Pick up the RUNNING jobs no worker here is processing: after a restart, a failed chunk or another instance stopping
+    @Scheduled(fixedDelayString = "${purge.rescan-interval-ms:60000}")
+    public void resumePurges() {
+        for (int userId : purgeJobRepository.findRunningUserIds()) {
+            submit(userId);
+        }
+    }
+
+    @Override
+    public void close() {
+        // a chunk in progress still commits; the rest of the job resumes on the next start
+        workers.shutdownNow();
+    }
+
+    private void submit(int userId) {
+        if (!active.add(userId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> purge(userId));
+        } catch (RejectedExecutionException e) {
+            active.remove(userId);
+        }
+    }
+
+    private void purge(int userId) {
+        try {
+            while (purgeChunk(userId)) {
+                Thread.sleep(throttleMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Purge of transactions for user ID {} failed, it will be retried", userId, e);
+            recordError(userId, e);
+        } finally {
+            active.remove(userId);
+        }
+    }
+
+    // Delete one chunk and record the progress in the same transaction. Returns whether there is more to delete
+    boolean purgeChunk(int userId) {
+        return transactionTemplate.execute(status -> {
+            TransactionPurgeJob job = purgeJobRepository.findByUserIdForUpdate(userId).orElse(null);
+            if (job == null || job.getState() != State.RUNNING) {
+                return false;
+            }
+            Instant now = Instant.now();
+            int deleted = transactionRepository.deleteChunkByUserId(userId, chunkSize);
+            job.setDeletedCount(job.getDeletedCount() + deleted);
+            job.setLastError(null);
+            job.setUpdatedAt(now);
+            if (deleted < chunkSize) {
+                summaryRepository.deleteByUserId(userId);
+                job.setState(State.COMPLETED);
+                job.setCompletedAt(now);
+            }
+            transactionService.recordUserWrite(userId);
+            return job.getState() == State.RUNNING;
+        });
+    }
+
+    private void recordError(int userId, RuntimeException error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> purgeJobRepository.findByUserIdForUpdate(userId).ifPresent(job -> {
+                String message = String.valueOf(error.getMessage());
+                job.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+                job.setUpdatedAt(Instant.now());
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Could not record the purge failure for user ID {}", userId, e);
+        }
+    }
+}
@@ -1,38 +1,120 @@
 package com.skillstorm.transactionservice.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.skillstorm.transactionservice.configs.ReplicaRoutingDataSource;
+import com.skillstorm.transactionservice.configs.ReplicaRoutingDataSource.PrimaryScope;
+import com.skillstorm.transactionservice.configs.RpcReplySender;
+import com.skillstorm.transactionservice.constants.CacheNames;
 import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
 import com.skillstorm.transactionservice.exceptions.TransactionNotFoundException;
+import com.skillstorm.transactionservice.models.BudgetTransaction;
+import com.skillstorm.transactionservice.models.MonthlyCategorySummary;
+import com.skillstorm.transactionservice.models.MonthlyCategorySummaryId;
 import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.models.TransactionCursor;
+import com.skillstorm.transactionservice.models.TransactionPage;
+import com.skillstorm.transactionservice.repositories.MonthlyCategorySummaryRepository;
 import com.skillstorm.transactionservice.repositories.TransactionRepository;
+import com.skillstorm.transactionservice.repositories.UserChangeVersionRepository;
+import io.micrometer.core.annotation.Timed;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.AmqpHeaders;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+// Every public method is timed as transaction.service{class,method,exception} with percentile histograms
 @Service
+@Timed(value = "transaction.service", histogram = true, percentiles = { 0.5, 0.95, 0.99 })
 public class TransactionService {
 
+    // page size used by the paginated listings when the client does not ask for one
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    // upper bound on the page size a client can request, keeps per-request heap and latency flat
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // longest [from, to) window a date range lookup accepts: a year, leap day included
+    public static final int MAX_DATE_RANGE_DAYS = 366;
+
+    // upper bound on the rows one date range lookup returns; larger result sets go through /transactions/page
+    public static final int MAX_DATE_RANGE_ROWS = 5000;
+
+    // upper bound on the number of transactions accepted by one batch create request
+    public static final int MAX_BATCH_CREATE_SIZE = 5000;
+
+    // rows flushed per JDBC batch, matches spring.jpa.properties.hibernate.jdbc.batch_size
+    public static final int BATCH_CHUNK_SIZE = 50;
+
+    // upper bound on the distinct userIds one batched RPC request may carry
+    @Value("${rabbit.batch.max-user-ids:500}")
+    private int maxBatchUserIds;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
     @Autowired
-    private RabbitTemplate rabbitTemplate;
+    private MonthlyCategorySummaryRepository summaryRepository;
+
+    @Autowired
+    private UserChangeVersionRepository changeVersionRepository;
+
+    @Autowired
+    private RequestCoalescer coalescer;
+
+    @Autowired
+    private RpcReplySender replySender;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    // Get a list of transactions for specific user using the userId
+    // Get a list of transactions for specific user using the userId. Not @Transactional: the coalesced read opens its own transaction
     public List<Transaction> getTransactionsByUserId(int userId) {
-        Optional<List<Transaction>> transactionList = transactionRepository.findByUserId(userId);
+        Optional<List<Transaction>> transactionList = findByUserIdCoalesced(userId);
         if (transactionList.isEmpty() || transactionList.get().isEmpty()) {
             throw new TransactionNotFoundException("Transactions for user ID " + userId + " not found");
         } else {
@@ -41,41 +123,154 @@ public class TransactionService {
     }
 
     // Get a list of transactions for specific user using the userId via RabbitMQ
-    @RabbitListener(queues = "account-request")
+    @RabbitListener(queues = "account-request", containerFactory = "accountListenerContainerFactory", errorHandler = "rpcErrorHandler")
     public void getTransactionsByUserIdRabbit(@Payload int userId,
-            @Header(AmqpHeaders.CORRELATION_ID) String correlationId, @Header(AmqpHeaders.REPLY_TO) String replyQueue) {
-        List<Transaction> transactionList = transactionRepository.findByUserId(userId)
+            @Header(AmqpHeaders.CORRELATION_ID) String correlationId, @Header(AmqpHeaders.REPLY_TO) String replyQueue,
+            @Header(name = RpcReplySender.ACCEPT_HEADER, required = false) String accept,
+            @Header(name = RpcReplySender.ACCEPT_ENCODING_HEADER, required = false) String acceptEncoding) {
+        List<Transaction> transactionList = findByUserIdCoalesced(userId)
                 .orElseThrow(
                         () -> new TransactionNotFoundException("Transactions for user ID " + userId + " not found"));
 
-        rabbitTemplate.convertAndSend(replyQueue, transactionList, message -> {
-            message.getMessageProperties().setCorrelationId(correlationId);
-            return message;
-        });
+        replySender.send(replyQueue, correlationId, accept, acceptEncoding, transactionList);
+    }
+
+    // findByUserId shared between concurrent callers for the same user: the HTTP endpoints and account-request
+    private Optional<List<Transaction>> findByUserIdCoalesced(int userId) {
+        return coalescedRead("findByUserId", userId, () -> transactionRepository.findByUserId(userId));
+    }
+
+    /*
+     * Run a read for the user through the coalescer, each lookup in its own read-only transaction so
+     * waiting callers hold no connection while they wait. Followers get the leader's entity instances,
+     * which with open-in-view stay managed by the leader's request until it ends, so the result must
+     * only be read, never modified. Users who wrote recently skip
+     * coalescing, since a shared lookup may have started before their write committed, and read
+     * from the primary like ReadYourWritesAspect does for @Transactional reads
+     */
+    private <T> T coalescedRead(String operation, int userId, Supplier<T> lookup) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        if (readYourWrites.wroteRecently(userId)) {
+            try (PrimaryScope scope = ReplicaRoutingDataSource.requirePrimary()) {
+                return readOnly.execute(status -> lookup.get());
+            }
+        }
+        return coalescer.execute(operation, userId, () -> readOnly.execute(status -> lookup.get()));
     }
 
     /*
      * Get a list of transactions from a specific user using the userId, and the
      * list excludes the INCOME transaction category
-     * This method will specifically be used by the Budget Service
+     * This method will specifically be used by the Budget Service, so the reply only
+     * carries the category, amount and date it reads
      */
-    @RabbitListener(queues = "budget-request")
+    @RabbitListener(queues = "budget-request", containerFactory = "budgetListenerContainerFactory", errorHandler = "rpcErrorHandler")
     public void getTransactionsByUserIdExcludingIncome(@Payload int userId,
-            @Header(AmqpHeaders.CORRELATION_ID) String correlationId, @Header(AmqpHeaders.REPLY_TO) String replyQueue) {
+            @Header(AmqpHeaders.CORRELATION_ID) String correlationId, @Header(AmqpHeaders.REPLY_TO) String replyQueue,
+            @Header(name = RpcReplySender.ACCEPT_HEADER, required = false) String accept,
+            @Header(name = RpcReplySender.ACCEPT_ENCODING_HEADER, required = false) String acceptEncoding) {
         // Look up all transactions for the User. Throw exception if user not found
-        List<Transaction> transactionsList = transactionRepository.findByUserIdExcludeIncome(userId)
+        List<BudgetTransaction> transactionsList = coalescedRead("findBudgetTransactionsByUserId", userId,
+                () -> transactionRepository.findBudgetTransactionsByUserId(userId))
                 .orElseThrow(
                         () -> new TransactionNotFoundException("Transactions for user ID " + userId + " not found"));
 
         // Send response back to the Budget-Service using the replyTo queue included in
         // the message header
-        rabbitTemplate.convertAndSend(replyQueue, transactionsList, message -> {
-            message.getMessageProperties().setCorrelationId(correlationId);
-            return message;
-        });
+        replySender.send(replyQueue, correlationId, accept, acceptEncoding, transactionsList);
+    }
+
+    /*
+     * Get the transactions of several users at once via RabbitMQ, answered with a single IN query.
+     * The reply maps each requested userId to its transactions; users without transactions map
+     * to an empty list instead of failing the whole batch
+     */
+    @RabbitListener(queues = "account-batch-request", containerFactory = "accountListenerContainerFactory", errorHandler = "rpcErrorHandler")
+    @Transactional(readOnly = true)
+    public void getTransactionsByUserIdsRabbit(@Payload List<Integer> userIds,
+            @Header(AmqpHeaders.CORRELATION_ID) String correlationId, @Header(AmqpHeaders.REPLY_TO) String replyQueue,
+            @Header(name = RpcReplySender.ACCEPT_HEADER, required = false) String accept,
+            @Header(name = RpcReplySender.ACCEPT_ENCODING_HEADER, required = false) String acceptEncoding) {
+        Map<Integer, List<Transaction>> transactionsByUser = emptyBatchReply(userIds);
+        for (Transaction transaction : transactionRepository.findByUserIdIn(transactionsByUser.keySet())) {
+            transactionsByUser.get(transaction.getUserId()).add(transaction);
+        }
+
+        replySender.send(replyQueue, correlationId, accept, acceptEncoding, transactionsByUser);
+    }
+
+    /*
+     * Batched form of budget-request for the Budget Service's nightly job: one message and one
+     * IN query for many users instead of one of each per user. Excludes INCOME like budget-request
+     */
+    @RabbitListener(queues = "budget-batch-request", containerFactory = "budgetListenerContainerFactory", errorHandler = "rpcErrorHandler")
+    @Transactional(readOnly = true)
+    public void getTransactionsByUserIdsExcludingIncome(@Payload List<Integer> userIds,
+            @Header(AmqpHeaders.CORRELATION_ID) String correlationId, @Header(AmqpHeaders.REPLY_TO) String replyQueue,
+            @Header(name = RpcReplySender.ACCEPT_HEADER, required = false) String accept,
+            @Header(name = RpcReplySender.ACCEPT_ENCODING_HEADER, required = false) String acceptEncoding) {
+        Map<Integer, List<BudgetTransaction>> transactionsByUser = emptyBatchReply(userIds);
+        for (Object[] row : transactionRepository.findBudgetTransactionRowsByUserIdIn(transactionsByUser.keySet())) {
+            transactionsByUser.get((Integer) row[0]).add(
+                    new BudgetTransaction((TransactionCategory) row[1], (BigDecimal) row[2], (LocalDate) row[3]));
+        }
+
+        replySender.send(replyQueue, correlationId, accept, acceptEncoding, transactionsByUser);
+    }
+
+    // Validate the userIds of a batched request and build the reply map with one empty list per distinct userId, in request order
+    private <T> Map<Integer, List<T>> emptyBatchReply(List<Integer> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new InvalidTransactionException("A batch request must contain at least one userId");
+        }
+        Map<Integer, List<T>> reply = new LinkedHashMap<>();
+        for (Integer userId : userIds) {
+            if (userId == null) {
+                throw new InvalidTransactionException("A batch request must not contain a null userId");
+            }
+            reply.putIfAbsent(userId, new ArrayList<>());
+        }
+        if (reply.size() > maxBatchUserIds) {
+            throw new InvalidTransactionException("A batch request may contain at most " + maxBatchUserIds + " userIds");
+        }
+        return reply;
+    }
+
+    // Get the per-category totals of a specific user for one month, read from the rollup table
+    @Transactional(readOnly = true)
+    public List<MonthlyCategorySummary> getMonthlySummary(int userId, YearMonth month) {
+        return summaryRepository.findByUserIdAndMonth(userId, month.atDay(1));
+    }
+
+    /*
+     * Get the per-category totals of a user for one month via RabbitMQ, excluding INCOME.
+     * The optional "month" header (yyyy-MM) selects the month and defaults to the current one.
+     * Lets the Budget Service skip pulling every transaction through budget-request
+     */
+    @RabbitListener(queues = "budget-summary-request", containerFactory = "budgetListenerContainerFactory", errorHandler = "rpcErrorHandler")
+    @Transactional(readOnly = true)
+    public void getMonthlySummaryRabbit(@Payload int userId,
+            @Header(name = "month", required = false) String month,
+            @Header(AmqpHeaders.CORRELATION_ID) String correlationId, @Header(AmqpHeaders.REPLY_TO) String replyQueue,
+            @Header(name = RpcReplySender.ACCEPT_HEADER, required = false) String accept,
+            @Header(name = RpcReplySender.ACCEPT_ENCODING_HEADER, required = false) String acceptEncoding) {
+        YearMonth summaryMonth;
+        try {
+            summaryMonth = month == null ? YearMonth.now() : YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new InvalidTransactionException("Invalid month " + month + ", expected yyyy-MM");
+        }
+
+        List<MonthlyCategorySummary> summaries = getMonthlySummary(userId, summaryMonth).stream()
+                .filter(summary -> summary.getCategory() != TransactionCategory.INCOME)
+                .toList();
+
+        replySender.send(replyQueue, correlationId, accept, acceptEncoding, summaries);
     }
 
     // Get a list of transactions of a specific account using the accountId
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByAccountId(int accountId) {
         Optional<List<Transaction>> transactionList = transactionRepository.findByAccountId(accountId);
         if (transactionList.isEmpty() || transactionList.get().isEmpty()) {
@@ -85,7 +280,68 @@ public class TransactionService {
         }
     }
 
+    // Get one page of a user's transactions, newest first. cursor is the nextCursor of the previous page, or null for the first page
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionsPageByUserId(int userId, String cursor, Integer size) {
+        Pageable limit = PageRequest.of(0, resolvePageSize(size) + 1);
+        List<Transaction> rows;
+        if (cursor == null) {
+            rows = transactionRepository.findFirstPageByUserId(userId, limit);
+            if (rows.isEmpty()) {
+                throw new TransactionNotFoundException("Transactions for user ID " + userId + " not found");
+            }
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserIdAfter(userId, position.getDate(),
+                    position.getTransactionId(), limit);
+        }
+        return toPage(rows, limit.getPageSize() - 1);
+    }
+
+    // Get one page of an account's transactions, newest first. cursor is the nextCursor of the previous page, or null for the first page
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionsPageByAccountId(int accountId, String cursor, Integer size) {
+        Pageable limit = PageRequest.of(0, resolvePageSize(size) + 1);
+        List<Transaction> rows;
+        if (cursor == null) {
+            rows = transactionRepository.findFirstPageByAccountId(accountId, limit);
+            if (rows.isEmpty()) {
+                throw new TransactionNotFoundException("Transactions for account ID " + accountId + " not found");
+            }
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByAccountIdAfter(accountId, position.getDate(),
+                    position.getTransactionId(), limit);
+        }
+        return toPage(rows, limit.getPageSize() - 1);
+    }
+
+    /*
+     * Write every transaction of a user to the output stream as newline-delimited JSON.
+     * Rows are pulled from the database in fetch-size chunks and detached as soon as they
+     * are written, so heap use does not grow with the size of the user's history
+     */
+    @Transactional(readOnly = true)
+    public void exportTransactionsByUserId(int userId, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Transaction.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<Transaction> transactions = transactionRepository.streamByUserId(userId);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                writer.writeValue(generator, transaction);
+                generator.writeRaw('\n');
+                entityManager.detach(transaction);
+            }
+        }
+    }
+
     // Get a list of transactions by the vendor name and userId
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByUserIdAndVendorName(int userId, String vendorName) {
         Optional<List<Transaction>> transactionList = transactionRepository.findByUserIdAndVendorName(userId,
                 vendorName);
@@ -97,8 +353,15 @@ public class TransactionService {
         }
     }
 
-    // Get a list of the most recent 5 transactions of a specific user using userId
-    public List<Transaction> getRecentFiveTransactions(int userId) {
+    /*
+     * Get a list of the most recent 5 transactions of a specific user using userId, as of their change
+     * version (getChangeVersion). The cache key includes that version: every committed write moves the
+     * user to a new one, so entries read before a write are never looked up again, on any instance,
+     * even if they were put after the write committed. Stale entries age out with the cache spec
+     */
+    @Cacheable(cacheNames = CacheNames.RECENT_TRANSACTIONS, key = "#userId + ':' + #changeVersion")
+    @Transactional(readOnly = true)
+    public List<Transaction> getRecentFiveTransactions(int userId, long changeVersion) {
         Optional<List<Transaction>> transactionList = transactionRepository.findRecentFiveTransaction(userId);
         if (transactionList.isEmpty() || transactionList.get().isEmpty()) {
             throw new TransactionNotFoundException("Unable to find most recent 5 transactions");
@@ -107,36 +370,102 @@ public class TransactionService {
         }
     }
 
-    // get a list of transactions from the current Month of a specific user using
-    // userId
-    public List<Transaction> getTransactionsFromCurrentMonth(int userId) {
-        LocalDate currentDate = LocalDate.now();
-        int currentMonth = currentDate.getMonthValue();
-        int currentYear = currentDate.getYear();
+    // get a list of transactions from the given month of a specific user using userId, as of their change version.
+    // The month is part of the cache key as well, so the current month's listing is reloaded when the month rolls over
+    @Cacheable(cacheNames = CacheNames.CURRENT_MONTH_TRANSACTIONS, key = "#userId + ':' + #month + ':' + #changeVersion")
+    @Transactional(readOnly = true)
+    public List<Transaction> getTransactionsFromMonth(int userId, YearMonth month, long changeVersion) {
+        return getTransactionsInDateRange(userId, month.atDay(1), month.plusMonths(1).atDay(1));
+    }
 
-        Optional<List<Transaction>> transactionList = transactionRepository.findTransactionFromCurrentMonth(userId,
-                currentMonth, currentYear);
+    // get a list of transactions of a specific user dated within [from, to), excluding INCOME
+    @Transactional(readOnly = true)
+    public List<Transaction> getTransactionsInDateRange(int userId, LocalDate from, LocalDate to) {
+        validateField(from != null && to != null, "Both from and to dates are required");
+        validateField(from.isBefore(to), "The from date must be before the to date");
+        validateField(!to.isAfter(from.plusDays(MAX_DATE_RANGE_DAYS)),
+                "The date range may span at most " + MAX_DATE_RANGE_DAYS + " days");
+
+        // one row past the limit tells a full range from one that was cut off
+        List<Transaction> transactionList = transactionRepository.findTransactionsInDateRange(userId, from, to,
+                PageRequest.of(0, MAX_DATE_RANGE_ROWS + 1));
+        validateField(transactionList.size() <= MAX_DATE_RANGE_ROWS, "More than " + MAX_DATE_RANGE_ROWS
+                + " transactions in this date range, narrow the range or use /transactions/page");
+
+        return transactionList;
+    }
 
-        return transactionList.get();
+    // Get the change version of a user's transactions, which increases with every committed write of theirs. 0 if they never wrote
+    @Transactional(readOnly = true)
+    public long getChangeVersion(int userId) {
+        return changeVersionRepository.findVersionByUserId(userId).orElse(0L);
     }
 
     // Create a transaction
+    @Transactional
     public Transaction createTransaction(int userId, Transaction transaction) {
 
         transaction.setUserId(userId);
+        // ids are always assigned here; a client-supplied one would make save() overwrite that row
+        transaction.setTransactionId(0);
 
-        validateField(transaction.getAccountId() > 0, "Account ID is required");
-        validateField(transaction.getUserId() > 0, "User ID is required");
-        validateField(transaction.getVendorName() != null && !transaction.getVendorName().isEmpty(),
-                "Vendor name is required");
-        validateField(transaction.getAmount().compareTo(BigDecimal.ZERO) > 0, "Amount is required");
-        validateField(transaction.getCategory() != null, "Category is required");
-        validateField(transaction.getDate() != null, "Date is required");
+        validateNewTransaction(transaction);
+
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        applyToSummary(savedTransaction, 1);
+        recordUserWrite(savedTransaction.getUserId());
+        return savedTransaction;
+    }
+
+    /*
+     * Create many transactions for a user in one database transaction. Every entry is validated
+     * before anything is written. Inserts are flushed in chunks of BATCH_CHUNK_SIZE so Hibernate
+     * sends each chunk as one JDBC batch, and the persistence context is cleared between chunks
+     */
+    @Transactional
+    public List<Transaction> createTransactions(int userId, List<Transaction> transactions) {
+        validateField(transactions != null && !transactions.isEmpty(), "At least one transaction is required");
+        validateField(transactions.size() <= MAX_BATCH_CREATE_SIZE,
+                "At most " + MAX_BATCH_CREATE_SIZE + " transactions can be created at once");
+
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            validateField(transaction != null, "Transaction at index " + i + " is missing");
+            transaction.setUserId(userId);
+            transaction.setTransactionId(0);
+            try {
+                validateNewTransaction(transaction);
+            } catch (InvalidTransactionException e) {
+                throw new InvalidTransactionException("Transaction at index " + i + ": " + e.getMessage());
+            }
+        }
+
+        List<Transaction> savedTransactions = saveInChunks(transactions);
+        applyToSummaries(savedTransactions);
+
+        recordUserWrite(userId);
+        return savedTransactions;
+    }
+
+    /*
+     * Group commit for the asynchronous ingestion queue (TransactionIngestionQueue): saves already
+     * validated transactions, possibly of several users, in one database transaction, so a burst
+     * of single creates costs one commit instead of one each
+     */
+    @Transactional
+    public List<Transaction> createIngestedTransactions(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            transaction.setTransactionId(0);
+        }
+        List<Transaction> savedTransactions = saveInChunks(transactions);
+        applyToSummaries(savedTransactions);
 
-        return transactionRepository.save(transaction);
+        savedTransactions.stream().mapToInt(Transaction::getUserId).distinct().forEach(this::recordUserWrite);
+        return savedTransactions;
     }
 
     // Update a transaction
+    @Transactional
     public Transaction updateTransaction(int transactionId, int userId, Transaction transaction) {
         Transaction existingTransaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new TransactionNotFoundException(
@@ -147,6 +476,10 @@ public class TransactionService {
                     "You are not authorized to modify this transaction.");
         }
 
+        // take the old values out of the rollup before the managed entity is modified
+        applyToSummary(existingTransaction, -1);
+        recordUserWrite(existingTransaction.getUserId());
+
         if (transaction.getUserId() > 0) {
             existingTransaction.setUserId(transaction.getUserId());
         }
@@ -173,20 +506,98 @@ public class TransactionService {
 
         existingTransaction.setDescription(transaction.getDescription());
 
-        return transactionRepository.save(existingTransaction);
+        Transaction savedTransaction = transactionRepository.save(existingTransaction);
+        applyToSummary(savedTransaction, 1);
+        recordUserWrite(savedTransaction.getUserId());
+        return savedTransaction;
     }
 
     // Delete a transaction
+    @Transactional
     public void deleteTransaction(int transactionId) {
-        if (!transactionRepository.existsById(transactionId)) {
-            throw new TransactionNotFoundException("Transaction with ID " + transactionId + " not found");
-        }
+        Transaction existingTransaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException("Transaction with ID " + transactionId + " not found"));
         transactionRepository.deleteById(transactionId);
+        applyToSummary(existingTransaction, -1);
+        recordUserWrite(existingTransaction.getUserId());
+    }
+
+    // records a write of the user's transactions; call it from the writing transaction. Bumps their change version,
+    // which moves their ETags and dashboard cache keys on when the write commits, and keeps their reads on the primary
+    // database for a while, so neither they nor the caches see the read replica before it has the write
+    public void recordUserWrite(int userId) {
+        changeVersionRepository.increment(userId);
+        readYourWrites.recordWrite(userId);
+    }
+
+    // Insert in chunks of BATCH_CHUNK_SIZE, flushing each as one JDBC batch and clearing the persistence context between chunks
+    private List<Transaction> saveInChunks(List<Transaction> transactions) {
+        List<Transaction> savedTransactions = new ArrayList<>(transactions.size());
+        for (int start = 0; start < transactions.size(); start += BATCH_CHUNK_SIZE) {
+            List<Transaction> chunk = transactions.subList(start, Math.min(start + BATCH_CHUNK_SIZE, transactions.size()));
+            savedTransactions.addAll(transactionRepository.saveAll(chunk));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return savedTransactions;
+    }
+
+    // Add saved transactions to the monthly rollup, collapsed to one upsert per (user, month, category)
+    private void applyToSummaries(List<Transaction> savedTransactions) {
+        Map<MonthlyCategorySummaryId, MonthlyCategorySummary> deltas = new HashMap<>();
+        for (Transaction transaction : savedTransactions) {
+            int userId = transaction.getUserId();
+            LocalDate month = transaction.getDate().withDayOfMonth(1);
+            MonthlyCategorySummary delta = deltas.computeIfAbsent(
+                    new MonthlyCategorySummaryId(userId, month, transaction.getCategory()),
+                    id -> new MonthlyCategorySummary(userId, month, id.getCategory(), BigDecimal.ZERO, 0));
+            delta.setTotalAmount(delta.getTotalAmount().add(transaction.getAmount()));
+            delta.setTransactionCount(delta.getTransactionCount() + 1);
+        }
+        for (MonthlyCategorySummary delta : deltas.values()) {
+            summaryRepository.applyDelta(delta.getUserId(), delta.getMonth(), delta.getCategory().name(), delta.getTotalAmount(),
+                    delta.getTransactionCount());
+        }
+    }
+
+    // helper method to add (sign = 1) or remove (sign = -1) a transaction from the monthly category rollup.
+    // Rows missing a date, category or amount were never counted, so they are skipped
+    private void applyToSummary(Transaction transaction, int sign) {
+        if (transaction.getDate() == null || transaction.getCategory() == null || transaction.getAmount() == null) {
+            return;
+        }
+        summaryRepository.applyDelta(transaction.getUserId(), transaction.getDate().withDayOfMonth(1),
+                transaction.getCategory().name(), transaction.getAmount().multiply(BigDecimal.valueOf(sign)), sign);
+    }
+
+    // helper method to clamp the requested page size to [1, MAX_PAGE_SIZE], falling back to DEFAULT_PAGE_SIZE
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        validateField(size > 0, "Page size must be positive");
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // helper method to cut the one-row lookahead off a keyset query result. The lookahead tells us whether a next page exists
+    private TransactionPage toPage(List<Transaction> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new TransactionPage(rows, null);
+        }
+        List<Transaction> transactions = new ArrayList<>(rows.subList(0, pageSize));
+        String nextCursor = TransactionCursor.after(transactions.get(pageSize - 1)).encode();
+        return new TransactionPage(transactions, nextCursor);
     }
 
-    // delete transactions associated by a specific user using userId.
-    public void deleteTransactionByUserId(int userId) {
-        transactionRepository.deleteTransactionsByUserId(userId);
+    // helper method to check the fields every new transaction must have. Also used by the CSV import
+    void validateNewTransaction(Transaction transaction) {
+        validateField(transaction.getAccountId() > 0, "Account ID is required");
+        validateField(transaction.getUserId() > 0, "User ID is required");
+        validateField(transaction.getVendorName() != null && !transaction.getVendorName().isEmpty(),
+                "Vendor name is required");
+        validateField(transaction.getAmount().compareTo(BigDecimal.ZERO) > 0, "Amount is required");
+        validateField(transaction.getCategory() != null, "Category is required");
+        validateField(transaction.getDate() != null, "Date is required");
     }
 
     // helper method to validate Transaction fields and throw exception if invalid
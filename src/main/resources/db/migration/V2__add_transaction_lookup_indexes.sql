@@ -0,0 +1,15 @@
+-- Indexes backing the TransactionRepository queries. Built CONCURRENTLY so existing tables
+-- stay writable; Flyway runs this script outside a transaction because of it.
+
+-- findByUserId, findRecentFiveTransaction, the date range and current-month lookups, the batched
+-- user lookups and the keyset pages ordered by (date DESC, id DESC)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transaction_user_date
+    ON transaction (user_id, transaction_date DESC, transaction_id DESC);
+
+-- findByAccountId and the account keyset pages
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transaction_account_date
+    ON transaction (account_id, transaction_date DESC, transaction_id DESC);
+
+-- findByUserIdAndVendorName
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transaction_user_vendor
+    ON transaction (user_id, vendor_name);
@@ -0,0 +1,17 @@
+-- Per-user, per-month, per-category spending rollup. Kept in step with the transaction table by
+-- TransactionService inside the same database transaction as every write.
+CREATE TABLE IF NOT EXISTS transaction_monthly_summary (
+    user_id INT NOT NULL,
+    summary_month DATE NOT NULL,
+    transaction_category VARCHAR(50) NOT NULL,
+    total_amount DECIMAL(14, 2) NOT NULL,
+    transaction_count INT NOT NULL,
+    PRIMARY KEY (user_id, summary_month, transaction_category)
+);
+
+-- Backfill from the existing history
+INSERT INTO transaction_monthly_summary (user_id, summary_month, transaction_category, total_amount, transaction_count)
+SELECT user_id, CAST(date_trunc('month', transaction_date) AS DATE), transaction_category, SUM(transaction_amount), COUNT(*)
+FROM transaction
+GROUP BY user_id, CAST(date_trunc('month', transaction_date) AS DATE), transaction_category
+ON CONFLICT (user_id, summary_month, transaction_category) DO NOTHING;
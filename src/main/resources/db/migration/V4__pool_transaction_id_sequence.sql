@@ -0,0 +1,4 @@
+-- Transaction ids now come from Hibernate's pooled sequence optimizer (allocationSize = 50),
+-- which needs the sequence to hand out blocks of 50. Inserts that still use the column default
+-- simply take the first id of a fresh block, so ids stay unique.
+ALTER SEQUENCE transaction_transaction_id_seq INCREMENT BY 50;
@@ -0,0 +1,16 @@
+-- Idempotency-Key values seen on POST /transactions, with the response that was returned, so a
+-- client retry gets the same transaction back instead of creating another. Rows are claimed in
+-- the same database transaction as the insert they guard and expire after idempotency.ttl-ms.
+CREATE TABLE IF NOT EXISTS transaction_idempotency_key (
+    user_id INT NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    transaction_id INT,
+    response_body TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+-- Purging expired keys
+CREATE INDEX IF NOT EXISTS idx_transaction_idempotency_key_expires_at ON transaction_idempotency_key (expires_at);
@@ -0,0 +1,6 @@
+-- Per-user change version, incremented in the same database transaction as every write to a
+-- user's transactions. The list endpoints use it as their ETag; users without a row are at 0.
+CREATE TABLE IF NOT EXISTS transaction_user_version (
+    user_id INT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
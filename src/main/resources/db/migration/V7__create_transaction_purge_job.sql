@@ -0,0 +1,11 @@
+-- Background purges of all of a user's transactions (services.TransactionPurgeService). One row
+-- per user; a RUNNING row is picked up again after a restart, so a purge survives redeploys.
+CREATE TABLE IF NOT EXISTS transaction_purge_job (
+    user_id INT PRIMARY KEY,
+    purge_state VARCHAR(20) NOT NULL,
+    deleted_count BIGINT NOT NULL,
+    last_error VARCHAR(500),
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
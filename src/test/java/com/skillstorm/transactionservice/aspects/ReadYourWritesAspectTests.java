@@ -0,0 +1,112 @@
+package com.skillstorm.transactionservice.aspects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.skillstorm.transactionservice.configs.ReplicaLagMonitor;
+import com.skillstorm.transactionservice.configs.ReplicaRoutingDataSource;
+import com.skillstorm.transactionservice.services.ReadYourWritesTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+public class ReadYourWritesAspectTests {
+
+    private ReadYourWritesTracker tracker;
+    private ReadYourWritesAspect aspect;
+    private RoutingProbe routing;
+
+    @BeforeEach
+    public void setUp() {
+        tracker = new ReadYourWritesTracker(60_000);
+        aspect = new ReadYourWritesAspect(tracker);
+        ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        routing = new RoutingProbe(lagMonitor);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void testRecentWriterReadsFromThePrimary() throws Throwable {
+        tracker.recordWrite(1);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, aspect.routeRecentWriters(joinPoint(new String[] { "userId" }, 1), readOnly()));
+        assertEquals(ReplicaRoutingDataSource.REPLICA, aspect.routeRecentWriters(joinPoint(new String[] { "userId" }, 2), readOnly()));
+    }
+
+    @Test
+    public void testBatchWithAnyRecentWriterReadsFromThePrimary() throws Throwable {
+        tracker.recordWrite(3);
+
+        assertTrue(aspect.hasRecentWriter(joinPoint(new String[] { "userIds", "correlationId" }, List.of(1, 3), "c")));
+        assertFalse(aspect.hasRecentWriter(joinPoint(new String[] { "userIds", "correlationId" }, List.of(1, 2), "c")));
+    }
+
+    @Test
+    public void testOnlyUserParametersAreConsidered() throws Throwable {
+        tracker.recordWrite(1);
+
+        assertFalse(aspect.hasRecentWriter(joinPoint(new String[] { "accountId" }, 1)));
+    }
+
+    @Test
+    public void testWritesAreLeftAlone() throws Throwable {
+        tracker.recordWrite(1);
+        ProceedingJoinPoint pjp = joinPoint(new String[] { "userId" }, 1);
+
+        aspect.routeRecentWriters(pjp, readWrite());
+
+        verify(pjp, never()).getArgs();
+    }
+
+    // Join point whose proceed() reports where a connection opened by the advised method would go
+    private ProceedingJoinPoint joinPoint(String[] parameterNames, Object... args) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getParameterNames()).thenReturn(parameterNames);
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        when(pjp.getSignature()).thenReturn(signature);
+        when(pjp.getArgs()).thenReturn(args);
+        when(pjp.proceed()).thenAnswer(invocation -> routing.lookupKey());
+        return pjp;
+    }
+
+    private static Transactional readOnly() throws NoSuchMethodException {
+        return Methods.class.getDeclaredMethod("read").getAnnotation(Transactional.class);
+    }
+
+    private static Transactional readWrite() throws NoSuchMethodException {
+        return Methods.class.getDeclaredMethod("write").getAnnotation(Transactional.class);
+    }
+
+    private static class Methods {
+        @Transactional(readOnly = true)
+        void read() {
+        }
+
+        @Transactional
+        void write() {
+        }
+    }
+
+    private static class RoutingProbe extends ReplicaRoutingDataSource {
+        RoutingProbe(ReplicaLagMonitor lagMonitor) {
+            super(lagMonitor, new SimpleMeterRegistry());
+        }
+
+        Object lookupKey() {
+            return determineCurrentLookupKey();
+        }
+    }
+}
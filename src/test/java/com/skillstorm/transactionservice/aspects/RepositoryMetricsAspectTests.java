@@ -0,0 +1,48 @@
+package com.skillstorm.transactionservice.aspects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.skillstorm.transactionservice.repositories.TransactionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class RepositoryMetricsAspectTests {
+
+    @Test
+    public void testRowCount() {
+        assertEquals(3, RepositoryMetricsAspect.rowCount(List.of(1, 2, 3)));
+        assertEquals(2, RepositoryMetricsAspect.rowCount(Optional.of(List.of(1, 2))));
+        assertEquals(0, RepositoryMetricsAspect.rowCount(Optional.of(List.of())));
+        assertEquals(1, RepositoryMetricsAspect.rowCount(Optional.of("entity")));
+        assertEquals(0, RepositoryMetricsAspect.rowCount(Optional.empty()));
+        assertEquals(-1, RepositoryMetricsAspect.rowCount(Stream.of(1)));
+        assertEquals(-1, RepositoryMetricsAspect.rowCount(null));
+    }
+
+    @Test
+    public void testRecordsRowsPerQuery() throws Throwable {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RepositoryMetricsAspect aspect = new RepositoryMetricsAspect(meterRegistry);
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getDeclaringType()).thenReturn(TransactionRepository.class);
+        when(signature.getName()).thenReturn("findByUserId");
+        when(pjp.getSignature()).thenReturn(signature);
+        when(pjp.proceed()).thenReturn(Optional.of(List.of(1, 2, 3, 4)));
+
+        assertEquals(Optional.of(List.of(1, 2, 3, 4)), aspect.recordRows(pjp));
+
+        DistributionSummary rows = meterRegistry.get("transaction.repository.rows")
+                .tag("repository", "TransactionRepository").tag("method", "findByUserId").summary();
+        assertEquals(1, rows.count());
+        assertEquals(4, rows.totalAmount());
+    }
+}
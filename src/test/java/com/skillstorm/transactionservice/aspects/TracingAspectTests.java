@@ -0,0 +1,79 @@
+package com.skillstorm.transactionservice.aspects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.services.TransactionService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class TracingAspectTests {
+
+    private ProceedingJoinPoint pjp;
+
+    @BeforeEach
+    public void setUp() {
+        pjp = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getDeclaringType()).thenReturn(TransactionService.class);
+        when(signature.getName()).thenReturn("getTransactionsByUserId");
+        when(pjp.getSignature()).thenReturn(signature);
+        when(pjp.getArgs()).thenReturn(new Object[] { 1 });
+    }
+
+    @Test
+    public void testDisabledTracingOnlyProceeds() throws Throwable {
+        TracingAspect aspect = new TracingAspect(false, 1.0, 120);
+        when(pjp.proceed()).thenReturn("result");
+
+        assertEquals("result", aspect.trace(pjp));
+        verify(pjp).proceed();
+        verify(pjp, never()).getArgs();
+    }
+
+    @Test
+    public void testSampledCallProceedsOnce() throws Throwable {
+        TracingAspect aspect = new TracingAspect(true, 1.0, 120);
+        when(pjp.proceed()).thenReturn(List.of(1, 2, 3));
+
+        assertEquals(List.of(1, 2, 3), aspect.trace(pjp));
+        verify(pjp, times(1)).proceed();
+    }
+
+    @Test
+    public void testExceptionsAreRethrown() throws Throwable {
+        TracingAspect aspect = new TracingAspect(true, 0.0, 120);
+        IllegalStateException failure = new IllegalStateException("boom");
+        when(pjp.proceed()).thenThrow(failure);
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> aspect.trace(pjp)));
+    }
+
+    @Test
+    public void testSummariesAreSizeCapped() {
+        TracingAspect aspect = new TracingAspect(true, 1.0, 5);
+
+        assertEquals("null", aspect.summarize(null));
+        assertEquals("42", aspect.summarize(42));
+        assertEquals("Living Expenses", new TracingAspect(true, 1.0, 120).summarize(TransactionCategory.LIVING_EXPENSES));
+        assertEquals("2024-...", aspect.summarize(LocalDate.of(2024, 3, 1)));
+        assertEquals("\"abcde...\"", aspect.summarize("abcdefgh"));
+        assertEquals("ArrayList(size=3)", aspect.summarize(new ArrayList<>(List.of(1, 2, 3))));
+        assertEquals("HashMap(size=1)", aspect.summarize(new HashMap<>(Map.of(1, 2))));
+        assertEquals("byte[16]", aspect.summarize(new byte[16]));
+        assertEquals("Optional(ArrayList(size=2))", aspect.summarize(Optional.of(new ArrayList<>(List.of(1, 2)))));
+        assertEquals("ResponseEntity(status=200, body=ArrayList(size=2))", aspect.summarize(ResponseEntity.ok(new ArrayList<>(List.of(1, 2)))));
+        assertEquals("[1, \"ab\"]", aspect.summarizeArguments(new Object[] { 1, "ab" }));
+    }
+}
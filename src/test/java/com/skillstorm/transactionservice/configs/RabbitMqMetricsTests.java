@@ -0,0 +1,80 @@
+package com.skillstorm.transactionservice.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RabbitMqMetricsTests {
+
+    private Message messageFrom(String queue) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(queue);
+        return new Message(new byte[0], properties);
+    }
+
+    @Test
+    public void testInFlightTrackerCountsWhileProcessing() throws Throwable {
+        ListenerInFlightTracker tracker = new ListenerInFlightTracker();
+        AtomicInteger seenInFlight = new AtomicInteger();
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[] { null, messageFrom("budget-request") });
+        when(invocation.proceed()).thenAnswer(call -> {
+            seenInFlight.set(tracker.getInFlight("budget-request"));
+            return null;
+        });
+
+        tracker.invoke(invocation);
+
+        assertEquals(1, seenInFlight.get());
+        assertEquals(0, tracker.getInFlight("budget-request"));
+    }
+
+    @Test
+    public void testInFlightTrackerDecrementsOnFailure() throws Throwable {
+        ListenerInFlightTracker tracker = new ListenerInFlightTracker();
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[] { null, List.of(messageFrom("account-request")) });
+        when(invocation.proceed()).thenThrow(new IllegalStateException("listener failed"));
+
+        assertThrows(IllegalStateException.class, () -> tracker.invoke(invocation));
+        assertEquals(0, tracker.getInFlight("account-request"));
+    }
+
+    @Test
+    public void testGaugesReportBrokerAndContainerState() {
+        AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+        RabbitListenerEndpointRegistry listenerRegistry = mock(RabbitListenerEndpointRegistry.class);
+        SimpleMessageListenerContainer container = mock(SimpleMessageListenerContainer.class);
+        ListenerInFlightTracker tracker = mock(ListenerInFlightTracker.class);
+
+        when(amqpAdmin.getQueueInfo("budget-request")).thenReturn(new QueueInformation("budget-request", 42, 3));
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        when(container.getQueueNames()).thenReturn(new String[] { "budget-request" });
+        when(container.getActiveConsumerCount()).thenReturn(4);
+        when(tracker.getInFlight("budget-request")).thenReturn(1);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new RabbitMqMetrics(amqpAdmin, listenerRegistry, tracker).bindTo(registry);
+
+        assertEquals(42, registry.get("rabbitmq.queue.messages").tag("queue", "budget-request").gauge().value());
+        assertEquals(3, registry.get("rabbitmq.queue.consumers").tag("queue", "budget-request").gauge().value());
+        assertEquals(4, registry.get("rabbitmq.listener.consumers").tag("queue", "budget-request").gauge().value());
+        assertEquals(0.25, registry.get("rabbitmq.listener.utilization").tag("queue", "budget-request").gauge().value());
+        assertEquals(0, registry.get("rabbitmq.listener.consumers").tag("queue", "account-request").gauge().value());
+        assertTrue(Double.isNaN(registry.get("rabbitmq.queue.messages").tag("queue", "account-request").gauge().value()));
+    }
+}
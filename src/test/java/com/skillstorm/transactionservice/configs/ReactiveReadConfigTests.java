@@ -0,0 +1,98 @@
+package com.skillstorm.transactionservice.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.skillstorm.transactionservice.controllers.ReactiveTransactionHandler;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.repositories.ReactiveTransactionRepository;
+import com.skillstorm.transactionservice.services.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.HttpHandlerConnector;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class ReactiveReadConfigTests {
+
+    private ReactiveTransactionRepository transactionRepository;
+    private WebTestClient client;
+    private Transaction transaction;
+
+    @BeforeEach
+    public void setUp() {
+        transactionRepository = mock(ReactiveTransactionRepository.class);
+        ReactiveTransactionHandler handler = new ReactiveTransactionHandler(transactionRepository, new TransactionService());
+        // dates as ISO strings, as Spring Boot configures the application's ObjectMapper
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        client = WebTestClient
+                .bindToServer(new HttpHandlerConnector(
+                        ReactiveReadConfig.httpHandler(new ReactiveReadConfig().reactiveTransactionRoutes(handler), objectMapper)))
+                .build();
+
+        transaction = new Transaction(1, 2, "Grocer", new BigDecimal("12.50"), TransactionCategory.LIVING_EXPENSES,
+                "Weekly shop", LocalDate.of(2024, 3, 1));
+        transaction.setTransactionId(7);
+    }
+
+    @Test
+    public void testTransactionsByUserIdAreStreamedAsJsonArray() {
+        when(transactionRepository.findByUserId(1)).thenReturn(Flux.just(transaction, transaction));
+
+        client.get().uri("/transactions").header("User-ID", "1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].transactionId").isEqualTo(7)
+                .jsonPath("$[0].category").isEqualTo("Living Expenses")
+                .jsonPath("$[0].date").isEqualTo("2024-03-01");
+    }
+
+    @Test
+    public void testNdjsonIsStreamedWhenAccepted() {
+        when(transactionRepository.findByAccountId(2)).thenReturn(Flux.just(transaction, transaction));
+
+        List<Transaction> rows = client.get().uri("/transactionsPrivate/account/2").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(Transaction.class).getResponseBody()
+                .collectList().block();
+
+        assertEquals(List.of(transaction, transaction), rows);
+    }
+
+    @Test
+    public void testEmptyResultIsNotFound() {
+        when(transactionRepository.findByUserId(3)).thenReturn(Flux.empty());
+        when(transactionRepository.findRecentFiveTransaction(3)).thenReturn(Flux.empty());
+
+        client.get().uri("/transactionsPrivate/user/3").exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Transactions for user ID 3 not found");
+        client.get().uri("/transactions/recentTransactions").header("User-ID", "3").exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Unable to find most recent 5 transactions");
+    }
+
+    @Test
+    public void testInvalidRequestsAreRejected() {
+        client.get().uri("/transactions").exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody(String.class).isEqualTo("User ID not found in request header");
+        client.get().uri("/transactionsPrivate/user/abc").exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(transactionRepository);
+    }
+}
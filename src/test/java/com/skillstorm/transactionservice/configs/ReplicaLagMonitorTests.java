@@ -0,0 +1,57 @@
+package com.skillstorm.transactionservice.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class ReplicaLagMonitorTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(jdbcTemplate, 1000, 60_000, meterRegistry);
+    }
+
+    @Test
+    public void testReplicaIsUnusableBeforeTheFirstCheck() {
+        assertFalse(monitor.isReplicaUsable());
+        assertTrue(Double.isNaN(meterRegistry.get("transaction.datasource.replica.lag").gauge().value()));
+    }
+
+    @Test
+    public void testLagWithinLimitKeepsReplicaUsable() {
+        when(jdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(0.4);
+
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(0.4, meterRegistry.get("transaction.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    public void testExcessiveLagOrFailedCheckTakesReplicaOutOfUse() {
+        when(jdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class)).thenReturn(0.0, 2.5, 0.0);
+
+        monitor.check();
+        assertTrue(monitor.isReplicaUsable());
+        monitor.check();
+        assertFalse(monitor.isReplicaUsable());
+        monitor.check();
+        assertTrue(monitor.isReplicaUsable());
+
+        when(jdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_QUERY, Double.class))
+                .thenThrow(new DataAccessResourceFailureException("replica down"));
+        monitor.check();
+        assertFalse(monitor.isReplicaUsable());
+    }
+}
@@ -0,0 +1,98 @@
+package com.skillstorm.transactionservice.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class ResponseSizeFilterTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseSizeFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseSizeFilter(meterRegistry);
+    }
+
+    private MockHttpServletResponse handle(String pattern, HttpServlet servlet) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transactions/recentTransactions");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet) {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res)
+                    throws IOException, ServletException {
+                if (pattern != null) {
+                    req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+                }
+                super.doFilter(req, res);
+            }
+        });
+        return response;
+    }
+
+    private DistributionSummary summary(String uri) {
+        return meterRegistry.get("http.server.response.bytes")
+                .tag("method", "GET").tag("uri", uri).tag("status", "200").summary();
+    }
+
+    @Test
+    public void testRecordsOutputStreamBytesByUriTemplate() throws Exception {
+        MockHttpServletResponse response = handle("/transactions/recentTransactions", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getOutputStream().write(new byte[1234]);
+            }
+        });
+
+        assertEquals(1234, response.getContentAsByteArray().length);
+        assertEquals(1, summary("/transactions/recentTransactions").count());
+        assertEquals(1234, summary("/transactions/recentTransactions").totalAmount());
+    }
+
+    @Test
+    public void testRecordsEncodedWriterBytes() throws Exception {
+        MockHttpServletResponse response = handle("/transactions", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setCharacterEncoding("UTF-8");
+                resp.getWriter().write("café");
+            }
+        });
+
+        assertEquals("café", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(5, summary("/transactions").totalAmount());
+    }
+
+    @Test
+    public void testUnmatchedRequestsShareOneTag() throws Exception {
+        HttpServlet empty = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+            }
+        };
+        handle(null, empty);
+        handle(null, empty);
+
+        assertEquals(2, summary("UNKNOWN").count());
+        assertEquals(0, summary("UNKNOWN").totalAmount());
+        assertEquals(1, meterRegistry.find("http.server.response.bytes").summaries().size());
+    }
+}
@@ -0,0 +1,92 @@
+package com.skillstorm.transactionservice.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.skillstorm.transactionservice.exceptions.TransactionNotFoundException;
+import com.rabbitmq.client.Channel;
+import com.skillstorm.transactionservice.models.RpcErrorReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+public class RpcErrorHandlerTests {
+
+    private AmqpTemplate amqpTemplate;
+    private RpcErrorReplySender replySender;
+    private RpcErrorHandler errorHandler;
+
+    @BeforeEach
+    public void setUp() {
+        amqpTemplate = mock(AmqpTemplate.class);
+        replySender = new RpcErrorReplySender(amqpTemplate);
+        errorHandler = new RpcErrorHandler(replySender);
+    }
+
+    private Message request(String replyTo) {
+        MessageProperties properties = new MessageProperties();
+        properties.setReplyTo(replyTo);
+        properties.setCorrelationId("corr-1");
+        properties.setReceivedRoutingKey("budget-request");
+        return new Message("1".getBytes(), properties);
+    }
+
+    @Test
+    public void testPermanentErrorIsAnsweredImmediately() throws Exception {
+        Message request = request("budget-response");
+        ListenerExecutionFailedException failure = new ListenerExecutionFailedException("failed",
+                new TransactionNotFoundException("No transactions found for user with ID 1"), request);
+
+        Object result = errorHandler.handleError(request, mock(Channel.class), null, failure);
+
+        assertNull(result);
+        ArgumentCaptor<Object> reply = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(amqpTemplate).convertAndSend(eq("budget-response"), reply.capture(), postProcessor.capture());
+        assertEquals(new RpcErrorReply(404, "NOT_FOUND", "No transactions found for user with ID 1"), reply.getValue());
+
+        Message sent = postProcessor.getValue().postProcessMessage(new Message(new byte[0], new MessageProperties()));
+        assertEquals("corr-1", sent.getMessageProperties().getCorrelationId());
+        assertEquals("NOT_FOUND", sent.getMessageProperties().getHeader(RpcErrorReplySender.ERROR_HEADER));
+    }
+
+    @Test
+    public void testTransientErrorIsRethrownForRetry() {
+        Message request = request("budget-response");
+        ListenerExecutionFailedException failure = new ListenerExecutionFailedException("failed",
+                new IllegalStateException("database unavailable"), request);
+
+        assertThrows(ListenerExecutionFailedException.class, () -> errorHandler.handleError(request, mock(Channel.class), null, failure));
+        verifyNoInteractions(amqpTemplate);
+    }
+
+    @Test
+    public void testNoReplyWithoutReplyTo() throws Exception {
+        Message request = request(null);
+        ListenerExecutionFailedException failure = new ListenerExecutionFailedException("failed",
+                new TransactionNotFoundException("missing"), request);
+
+        errorHandler.handleError(request, mock(Channel.class), null, failure);
+
+        verifyNoInteractions(amqpTemplate);
+    }
+
+    @Test
+    public void testRecovererRepliesAndDeadLetters() {
+        RpcDeadLetterRecoverer recoverer = new RpcDeadLetterRecoverer(amqpTemplate, "transaction.dlx", replySender);
+        Message request = request("budget-response");
+
+        recoverer.recover(request, new ListenerExecutionFailedException("failed",
+                new IllegalStateException("database unavailable"), request));
+
+        verify(amqpTemplate).convertAndSend(eq("budget-response"),
+                eq(new RpcErrorReply(500, "INTERNAL_ERROR", "The request could not be processed")),
+                any(MessagePostProcessor.class));
+        verify(amqpTemplate).send(eq("transaction.dlx"), eq("budget-request"), same(request));
+    }
+}
@@ -0,0 +1,137 @@
+package com.skillstorm.transactionservice.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.skillstorm.transactionservice.models.BudgetTransaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.postprocessor.DelegatingDecompressingPostProcessor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class RpcReplySenderTests {
+
+    private static final int COMPRESSION_THRESHOLD = 1024;
+
+    private AmqpTemplate amqpTemplate;
+    private MessageConverter messageConverter;
+    private RpcReplySender replySender;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        amqpTemplate = mock(AmqpTemplate.class);
+        messageConverter = new RabbitMqConfig().replyMessageConverter();
+        meterRegistry = new SimpleMeterRegistry();
+        replySender = new RpcReplySender(amqpTemplate, messageConverter, COMPRESSION_THRESHOLD, meterRegistry);
+    }
+
+    private List<BudgetTransaction> transactions(int count) {
+        List<BudgetTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactions.add(new BudgetTransaction(TransactionCategory.GROCERIES, new BigDecimal("12.34"),
+                    LocalDate.of(2024, 1, 1).plusDays(i)));
+        }
+        return transactions;
+    }
+
+    private Object decode(Message message) {
+        return messageConverter.fromMessage(new DelegatingDecompressingPostProcessor().postProcessMessage(message));
+    }
+
+    @Test
+    public void testDefaultsToJsonWithoutHeaders() {
+        Message message = replySender.encode(null, null, transactions(100));
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getMessageProperties().getContentType());
+        assertEquals("UTF-8", message.getMessageProperties().getContentEncoding());
+        assertEquals(100, ((List<?>) decode(message)).size());
+    }
+
+    @Test
+    public void testUsesFirstSupportedAcceptedType() {
+        Message message = replySender.encode("application/x-protobuf, application/cbor", null, transactions(100));
+
+        assertEquals(Jackson2CborMessageConverter.CONTENT_TYPE_CBOR, message.getMessageProperties().getContentType());
+        List<?> decoded = (List<?>) decode(message);
+        assertEquals(100, decoded.size());
+        assertEquals("Groceries", ((Map<?, ?>) decoded.get(0)).get("category"));
+    }
+
+    @Test
+    public void testCborTypeHeadersAreLimitedToTrustedPackages() {
+        Message message = replySender.encode("application/cbor", null, transactions(1));
+        message.getMessageProperties().setHeader("__TypeId__", "java.net.URL");
+
+        assertThrows(IllegalArgumentException.class, () -> decode(message));
+    }
+
+    @Test
+    public void testRequestsAreNotDecodedFromCbor() {
+        Message message = replySender.encode("application/cbor", null, transactions(1));
+
+        assertInstanceOf(byte[].class, new RabbitMqConfig().messageConverter().fromMessage(message));
+    }
+
+    @Test
+    public void testCborIsSmallerThanJson() {
+        int jsonSize = replySender.encode(null, null, transactions(100)).getBody().length;
+        int cborSize = replySender.encode("application/cbor", null, transactions(100)).getBody().length;
+
+        assertTrue(cborSize < jsonSize, "cbor " + cborSize + " json " + jsonSize);
+    }
+
+    @Test
+    public void testCompressesAboveThreshold() {
+        Message message = replySender.encode(null, "br, gzip", transactions(100));
+
+        assertEquals("gzip, UTF-8", message.getMessageProperties().getContentEncoding());
+        assertEquals(100, ((List<?>) decode(message)).size());
+    }
+
+    @Test
+    public void testDoesNotCompressBelowThreshold() {
+        Message message = replySender.encode(null, "gzip", transactions(1));
+
+        assertEquals("UTF-8", message.getMessageProperties().getContentEncoding());
+        assertTrue(message.getBody().length <= COMPRESSION_THRESHOLD);
+    }
+
+    @Test
+    public void testSendSetsCorrelationId() {
+        replySender.send("account-response", "corr-1", null, null, transactions(1));
+
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate).send(eq("account-response"), sent.capture());
+        assertEquals("corr-1", sent.getValue().getMessageProperties().getCorrelationId());
+    }
+
+    @Test
+    public void testSendRecordsReplySize() {
+        replySender.send("account-response", "corr-1", "application/cbor", null, transactions(3));
+
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate).send(eq("account-response"), sent.capture());
+        DistributionSummary replyBytes = meterRegistry.get("rabbitmq.reply.bytes")
+                .tag("content.type", "application/cbor").summary();
+        assertEquals(1, replyBytes.count());
+        assertEquals(sent.getValue().getBody().length, replyBytes.totalAmount());
+
+        replySender.send("account-response", "corr-2", "application/cbor", null, transactions(3));
+        assertEquals(2, replyBytes.count());
+        assertEquals(1, meterRegistry.find("rabbitmq.reply.bytes").summaries().size());
+    }
+}
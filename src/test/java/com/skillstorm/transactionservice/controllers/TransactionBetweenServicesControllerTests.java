@@ -4,23 +4,33 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.skillstorm.transactionservice.exceptions.GlobalExceptionHandler;
 import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionPage;
+import com.skillstorm.transactionservice.models.TransactionPurgeJob;
+import com.skillstorm.transactionservice.services.IdempotencyKeyService;
+import com.skillstorm.transactionservice.services.TransactionPurgeService;
 import com.skillstorm.transactionservice.services.TransactionService;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 @WebMvcTest(TransactionController.class)
 public class TransactionBetweenServicesControllerTests {
@@ -31,12 +41,21 @@ public class TransactionBetweenServicesControllerTests {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionPurgeService transactionPurgeService;
+
+    // needed by TransactionController, which the @WebMvcTest slice also loads
+    @MockBean
+    private IdempotencyKeyService idempotencyKeyService;
+
     private AutoCloseable closeable;
 
     @BeforeEach
     public void setup() {
         closeable = MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(new TransactionBetweenServicesController(transactionService)).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TransactionBetweenServicesController(transactionService, transactionPurgeService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
 
     @AfterEach
@@ -82,15 +101,90 @@ public class TransactionBetweenServicesControllerTests {
         verify(transactionService).getTransactionsByAccountId(accountId);
     }
 
+    @Test
+    public void testGetTransactionsPageByUserId() throws Exception {
+        int userId = 1;
+        List<Transaction> transactions = Arrays.asList(
+                new Transaction(userId, 1, "Vendor1", BigDecimal.valueOf(100), null, "Description1", LocalDate.now())
+        );
+
+        when(transactionService.getTransactionsPageByUserId(userId, null, null)).thenReturn(new TransactionPage(transactions, null));
+
+        mockMvc.perform(get("/transactionsPrivate/user/{userId}/page", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].userId").value(userId))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(transactionService).getTransactionsPageByUserId(userId, null, null);
+    }
+
+    @Test
+    public void testGetTransactionsPageByAccountId() throws Exception {
+        int accountId = 1;
+        List<Transaction> transactions = Arrays.asList(
+                new Transaction(1, accountId, "Vendor1", BigDecimal.valueOf(100), null, "Description1", LocalDate.now())
+        );
+
+        when(transactionService.getTransactionsPageByAccountId(accountId, "abc", 10)).thenReturn(new TransactionPage(transactions, "def"));
+
+        mockMvc.perform(get("/transactionsPrivate/account/{accountId}/page", accountId)
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].accountId").value(accountId))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+
+        verify(transactionService).getTransactionsPageByAccountId(accountId, "abc", 10);
+    }
+
+    @Test
+    public void testExportTransactionsByUserId() throws Exception {
+        int userId = 1;
+
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("{\"userId\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(transactionService).exportTransactionsByUserId(eq(userId), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/transactionsPrivate/user/{userId}/export", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"userId\":1}\n"));
+
+        verify(transactionService).exportTransactionsByUserId(eq(userId), any(OutputStream.class));
+    }
+
     @Test
     public void testDeleteTransactionByUserId() throws Exception {
         int userId = 1;
 
-        doNothing().when(transactionService).deleteTransactionByUserId(userId);
+        when(transactionPurgeService.requestPurge(userId))
+                .thenReturn(new TransactionPurgeJob(userId, TransactionPurgeJob.State.RUNNING, 0, Instant.now()));
 
         mockMvc.perform(delete("/transactionsPrivate/deleteTransaction/user/{userId}", userId))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/transactionsPrivate/deleteTransaction/user/1/status"))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
 
-        verify(transactionService).deleteTransactionByUserId(userId);
+        verify(transactionPurgeService).requestPurge(userId);
+    }
+
+    @Test
+    public void testGetPurgeStatus() throws Exception {
+        TransactionPurgeJob purgeJob = new TransactionPurgeJob(1, TransactionPurgeJob.State.COMPLETED, 12345, Instant.now());
+        when(transactionPurgeService.getStatus(1)).thenReturn(Optional.of(purgeJob));
+        when(transactionPurgeService.getStatus(2)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/transactionsPrivate/deleteTransaction/user/{userId}/status", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.deletedCount").value(12345));
+        mockMvc.perform(get("/transactionsPrivate/deleteTransaction/user/{userId}/status", 2))
+                .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+}
@@ -5,7 +5,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.transactionservice.models.MonthlyCategorySummary;
 import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.models.TransactionPage;
+import com.skillstorm.transactionservice.services.IdempotencyKeyService;
 import com.skillstorm.transactionservice.services.TransactionService;
 
 import org.junit.jupiter.api.AfterEach;
@@ -13,6 +17,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -24,6 +29,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,6 +42,9 @@ public class TransactionControllerTests {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private IdempotencyKeyService idempotencyKeyService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,7 +56,7 @@ public class TransactionControllerTests {
     @BeforeEach
     public void setup() {
         closeable = MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(new TransactionController(transactionService)).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new TransactionController(transactionService, idempotencyKeyService)).build();
     }
 
     @AfterEach
@@ -79,6 +88,30 @@ public class TransactionControllerTests {
         verify(transactionService).getTransactionsByUserId(userId);
     }
 
+    @Test
+    public void testGetTransactionsPageByUserId() throws Exception {
+        int userId = 1;
+        List<Transaction> transactions = Arrays.asList(
+                new Transaction(userId, 1, "Vendor1", BigDecimal.valueOf(100), null, "Description1", LocalDate.now())
+        );
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+
+        when(transactionService.getTransactionsPageByUserId(userId, "abc", 1)).thenReturn(new TransactionPage(transactions, "def"));
+
+        mockMvc.perform(get("/transactions/page")
+                        .param("cursor", "abc")
+                        .param("size", "1")
+                        .headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].userId").value(userId))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+
+        verify(transactionService).validateRequestWithHeaders(headersCaptor.capture());
+        verify(transactionService).getTransactionsPageByUserId(userId, "abc", 1);
+    }
+
     @Test
     public void testGetRecentFiveTransactions() throws Exception {
         int userId = 1;
@@ -90,7 +123,7 @@ public class TransactionControllerTests {
         HttpHeaders headers = new HttpHeaders();
         headers.add("User-ID", String.valueOf(userId));
 
-        when(transactionService.getRecentFiveTransactions(userId)).thenReturn(transactions);
+        when(transactionService.getRecentFiveTransactions(userId, 0L)).thenReturn(transactions);
 
         mockMvc.perform(get("/transactions/recentTransactions")
                         .headers(headers))
@@ -100,7 +133,56 @@ public class TransactionControllerTests {
                 .andExpect(jsonPath("$[1].userId").value(userId));
 
         verify(transactionService).validateRequestWithHeaders(headersCaptor.capture());
-        verify(transactionService).getRecentFiveTransactions(userId);
+        verify(transactionService).getRecentFiveTransactions(userId, 0L);
+    }
+
+    @Test
+    public void testGetTransactionsInDateRange() throws Exception {
+        int userId = 1;
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 2, 1);
+        List<Transaction> transactions = Arrays.asList(
+                new Transaction(userId, 1, "Vendor1", BigDecimal.valueOf(100), null, "Description1", from)
+        );
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+
+        when(transactionService.getTransactionsInDateRange(userId, from, to)).thenReturn(transactions);
+
+        mockMvc.perform(get("/transactions/range")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-02-01")
+                        .headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].userId").value(userId));
+
+        verify(transactionService).validateRequestWithHeaders(headersCaptor.capture());
+        verify(transactionService).getTransactionsInDateRange(userId, from, to);
+    }
+
+    @Test
+    public void testGetMonthlySummary() throws Exception {
+        int userId = 1;
+        List<MonthlyCategorySummary> summaries = List.of(
+                new MonthlyCategorySummary(userId, LocalDate.of(2024, 3, 1), TransactionCategory.LIVING_EXPENSES, BigDecimal.valueOf(1200), 3)
+        );
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+
+        when(transactionService.getMonthlySummary(userId, YearMonth.of(2024, 3))).thenReturn(summaries);
+
+        mockMvc.perform(get("/transactions/summary")
+                        .param("month", "2024-03")
+                        .headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].category").value("Living Expenses"))
+                .andExpect(jsonPath("$[0].transactionCount").value(3));
+
+        verify(transactionService).validateRequestWithHeaders(headersCaptor.capture());
+        verify(transactionService).getMonthlySummary(userId, YearMonth.of(2024, 3));
     }
 
     @Test
@@ -114,7 +196,7 @@ public class TransactionControllerTests {
         HttpHeaders headers = new HttpHeaders();
         headers.add("User-ID", String.valueOf(userId));
 
-        when(transactionService.getTransactionsFromCurrentMonth(userId)).thenReturn(transactions);
+        when(transactionService.getTransactionsFromMonth(userId, YearMonth.now(), 0L)).thenReturn(transactions);
 
         mockMvc.perform(get("/transactions/currentMonthTransactions")
                         .headers(headers))
@@ -124,7 +206,7 @@ public class TransactionControllerTests {
                 .andExpect(jsonPath("$[1].userId").value(userId));
 
         verify(transactionService).validateRequestWithHeaders(headersCaptor.capture());
-        verify(transactionService).getTransactionsFromCurrentMonth(userId);
+        verify(transactionService).getTransactionsFromMonth(userId, YearMonth.now(), 0L);
     }
 
     @Test
@@ -152,6 +234,100 @@ public class TransactionControllerTests {
         verify(transactionService).getTransactionsByUserIdAndVendorName(userId, vendorName);
     }
 
+    @Test
+    public void testListingsCarryChangeVersionETag() throws Exception {
+        int userId = 1;
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+
+        when(transactionService.getChangeVersion(userId)).thenReturn(7L);
+        when(transactionService.getTransactionsByUserId(userId)).thenReturn(List.of());
+        when(transactionService.getTransactionsFromMonth(userId, YearMonth.now(), 7L)).thenReturn(List.of());
+
+        mockMvc.perform(get("/transactions").headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"1-7\""));
+        mockMvc.perform(get("/transactions/currentMonthTransactions").headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-7-" + YearMonth.now() + "\""));
+    }
+
+    @Test
+    public void testUnchangedListingIsNotModified() throws Exception {
+        int userId = 1;
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+        headers.add("If-None-Match", "\"1-7\"");
+
+        when(transactionService.getChangeVersion(userId)).thenReturn(7L);
+
+        mockMvc.perform(get("/transactions").headers(headers))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-7\""));
+        mockMvc.perform(get("/transactions/recentTransactions").headers(headers))
+                .andExpect(status().isNotModified());
+
+        verify(transactionService, never()).getTransactionsByUserId(anyInt());
+        verify(transactionService, never()).getRecentFiveTransactions(anyInt(), anyLong());
+    }
+
+    @Test
+    public void testChangedListingIsReturned() throws Exception {
+        int userId = 1;
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+        headers.add("If-None-Match", "\"1-7\"");
+
+        when(transactionService.getChangeVersion(userId)).thenReturn(8L);
+        when(transactionService.getRecentFiveTransactions(userId, 8L)).thenReturn(List.of());
+
+        mockMvc.perform(get("/transactions/recentTransactions").headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-8\""));
+    }
+
+    @Test
+    public void testCurrentMonthListingIsReloadedAfterRollover() throws Exception {
+        int userId = 1;
+        YearMonth month = YearMonth.now();
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+        // no write since last month's response, only the month changed
+        headers.add("If-None-Match", "\"1-7-" + month.minusMonths(1) + "\"");
+
+        when(transactionService.getChangeVersion(userId)).thenReturn(7L);
+        when(transactionService.getTransactionsFromMonth(userId, month, 7L)).thenReturn(List.of());
+
+        mockMvc.perform(get("/transactions/currentMonthTransactions").headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-7-" + month + "\""));
+
+        verify(transactionService).getTransactionsFromMonth(userId, month, 7L);
+        verify(transactionService, never()).getTransactionsFromMonth(userId, month.minusMonths(1), 7L);
+    }
+
+    @Test
+    public void testListingIsLoadedForTheTaggedVersion() throws Exception {
+        int userId = 1;
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+        headers.add("If-None-Match", "\"1-7\"");
+
+        // another instance committed a write: version 7 may still be cached here, but the tag is for version 8
+        when(transactionService.getChangeVersion(userId)).thenReturn(8L);
+        when(transactionService.getRecentFiveTransactions(userId, 8L)).thenReturn(List.of());
+
+        mockMvc.perform(get("/transactions/recentTransactions").headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-8\""));
+
+        // the version is read before the listing, so the listing is never older than the tag
+        InOrder inOrder = inOrder(transactionService);
+        inOrder.verify(transactionService).getChangeVersion(userId);
+        inOrder.verify(transactionService).getRecentFiveTransactions(userId, 8L);
+        verify(transactionService, never()).getRecentFiveTransactions(userId, 7L);
+    }
+
     @Test
     public void testCreateTransaction() throws Exception {
         int userId = 1;
@@ -178,6 +354,54 @@ public class TransactionControllerTests {
         verify(transactionService).createTransaction(eq(userId), any(Transaction.class));
     }
 
+    @Test
+    public void testCreateTransactionWithIdempotencyKey() throws Exception {
+        int userId = 1;
+        Transaction transaction = new Transaction(userId, 1, "Vendor", BigDecimal.valueOf(100), null, "Description", LocalDate.now());
+        transaction.setTransactionId(1);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+        headers.add("Idempotency-Key", "retry-1");
+
+        when(idempotencyKeyService.createTransaction(eq(userId), eq("retry-1"), any(Transaction.class))).thenReturn(transaction);
+
+        mockMvc.perform(post("/transactions")
+                        .headers(headers)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transaction)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.transactionId").value(transaction.getTransactionId()));
+
+        verify(idempotencyKeyService).createTransaction(eq(userId), eq("retry-1"), any(Transaction.class));
+        verify(transactionService, never()).createTransaction(anyInt(), any(Transaction.class));
+    }
+
+    @Test
+    public void testCreateTransactions() throws Exception {
+        int userId = 1;
+        Transaction transaction1 = new Transaction(userId, 1, "Vendor1", BigDecimal.valueOf(100), null, "Description1", LocalDate.now());
+        Transaction transaction2 = new Transaction(userId, 1, "Vendor2", BigDecimal.valueOf(200), null, "Description2", LocalDate.now());
+        transaction1.setTransactionId(1);
+        transaction2.setTransactionId(2);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+
+        when(transactionService.createTransactions(eq(userId), anyList())).thenReturn(List.of(transaction1, transaction2));
+
+        mockMvc.perform(post("/transactions/batch")
+                        .headers(headers)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(transaction1, transaction2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].transactionId").value(1))
+                .andExpect(jsonPath("$[1].vendorName").value("Vendor2"));
+
+        verify(transactionService).validateRequestWithHeaders(headersCaptor.capture());
+        verify(transactionService).createTransactions(eq(userId), anyList());
+    }
+
     @Test
     public void testUpdateTransaction() throws Exception {
         int userId = 1;
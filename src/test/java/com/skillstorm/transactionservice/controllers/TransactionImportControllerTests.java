@@ -0,0 +1,72 @@
+package com.skillstorm.transactionservice.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.skillstorm.transactionservice.models.TransactionImportError;
+import com.skillstorm.transactionservice.models.TransactionImportResult;
+import com.skillstorm.transactionservice.services.TransactionImportService;
+import com.skillstorm.transactionservice.services.TransactionService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class TransactionImportControllerTests {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionImportService transactionImportService;
+
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    public void setup() {
+        closeable = MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TransactionImportController(transactionService, transactionImportService)).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    public void testImportTransactions() throws Exception {
+        int userId = 1;
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+                "accountId,vendorName,amount,category,date\n".getBytes(StandardCharsets.UTF_8));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-ID", String.valueOf(userId));
+
+        when(transactionImportService.importCsv(eq(userId), any(InputStream.class)))
+                .thenReturn(new TransactionImportResult(10, 1, List.of(new TransactionImportError(4, "Amount is required"))));
+
+        mockMvc.perform(multipart("/transactions/import")
+                        .file(file)
+                        .headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(10))
+                .andExpect(jsonPath("$.rejectedCount").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(4));
+
+        verify(transactionService).validateRequestWithHeaders(any(HttpHeaders.class));
+        verify(transactionImportService).importCsv(eq(userId), any(InputStream.class));
+    }
+}
@@ -0,0 +1,92 @@
+package com.skillstorm.transactionservice.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.hamcrest.Matchers.startsWith;
+
+import com.skillstorm.transactionservice.exceptions.GlobalExceptionHandler;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.services.TransactionIngestionQueue;
+import com.skillstorm.transactionservice.services.TransactionIngestionQueue.Ingestion;
+import com.skillstorm.transactionservice.services.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class TransactionIngestionControllerTests {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TransactionService transactionService;
+
+    private TransactionIngestionQueue ingestionQueue;
+
+    private AutoCloseable closeable;
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    @BeforeEach
+    public void setup() {
+        closeable = MockitoAnnotations.openMocks(this);
+        ingestionQueue = new TransactionIngestionQueue(transactionService, new SimpleMeterRegistry(), 1, 10, 0, 60_000, 1000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TransactionIngestionController(transactionService, ingestionQueue))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        headers.add("User-ID", "1");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    private static String body() {
+        return "{\"accountId\":2,\"vendorName\":\"Grocer\",\"amount\":12.50,\"category\":\"Groceries\",\"date\":\"2024-03-01\"}";
+    }
+
+    @Test
+    public void testSubmitIsAcceptedWithStatusLocation() throws Exception {
+        mockMvc.perform(post("/transactions/async").headers(headers).contentType(MediaType.APPLICATION_JSON).content(body()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/transactions/async/")))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+
+        verify(transactionService).validateRequestWithHeaders(any(HttpHeaders.class));
+    }
+
+    @Test
+    public void testFullQueueIsServiceUnavailable() throws Exception {
+        ingestionQueue.submit(1, new Transaction(0, 2, "Grocer", BigDecimal.TEN, TransactionCategory.GROCERIES, null, LocalDate.now()));
+
+        mockMvc.perform(post("/transactions/async").headers(headers).contentType(MediaType.APPLICATION_JSON).content(body()))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    public void testStatusIsOnlyVisibleToItsUser() throws Exception {
+        Ingestion ingestion = ingestionQueue.submit(1,
+                new Transaction(0, 2, "Grocer", BigDecimal.TEN, TransactionCategory.GROCERIES, null, LocalDate.now()));
+
+        mockMvc.perform(get("/transactions/async/" + ingestion.getId()).headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingestionId").value(ingestion.getId()))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+
+        mockMvc.perform(get("/transactions/async/" + ingestion.getId()).header("User-ID", "2"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,43 @@
+package com.skillstorm.transactionservice.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class BudgetTransactionTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void testSerializesOnlyBudgetFieldsWithTransactionNames() throws Exception {
+        BudgetTransaction transaction = new BudgetTransaction(TransactionCategory.LIVING_EXPENSES,
+                new BigDecimal("1200.00"), LocalDate.of(2024, 3, 1));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(transaction));
+
+        assertEquals(3, json.size());
+        assertEquals("Living Expenses", json.get("category").asText());
+        assertEquals(0, new BigDecimal("1200.00").compareTo(json.get("amount").decimalValue()));
+        assertEquals("2024-03-01", json.get("date").asText());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        BudgetTransaction transaction = new BudgetTransaction(TransactionCategory.DINING,
+                new BigDecimal("18.50"), LocalDate.of(2024, 3, 2));
+
+        BudgetTransaction copy = objectMapper.readValue(objectMapper.writeValueAsString(transaction),
+                BudgetTransaction.class);
+
+        assertEquals(transaction, copy);
+    }
+}
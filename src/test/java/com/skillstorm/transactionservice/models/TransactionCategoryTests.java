@@ -2,8 +2,12 @@ package com.skillstorm.transactionservice.models;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 public class TransactionCategoryTests {
 
     @Test
@@ -35,4 +39,37 @@ public class TransactionCategoryTests {
         assertEquals("Income", TransactionCategory.INCOME.toString());
         assertEquals("Misc", TransactionCategory.MISC.toString());
     }
+
+    @Test
+    public void testFromDisplayName() {
+        assertEquals(TransactionCategory.LIVING_EXPENSES, TransactionCategory.fromDisplayName("Living Expenses"));
+        assertEquals(TransactionCategory.LIVING_EXPENSES, TransactionCategory.fromDisplayName("LIVING_EXPENSES"));
+        assertEquals(TransactionCategory.DINING, TransactionCategory.fromDisplayName("dining"));
+        assertThrows(IllegalArgumentException.class, () -> TransactionCategory.fromDisplayName("Gadgets"));
+    }
+
+    @Test
+    public void testFromDisplayNameCharBuffer() {
+        char[] buffer = "[\"Living Expenses\",\"living_expenses\",\"Gadgets\"]".toCharArray();
+
+        assertEquals(TransactionCategory.LIVING_EXPENSES, TransactionCategory.fromDisplayName(buffer, 2, 15));
+        assertEquals(TransactionCategory.LIVING_EXPENSES, TransactionCategory.fromDisplayName(buffer, 20, 15));
+        assertNull(TransactionCategory.fromDisplayName(buffer, 38, 7));
+        assertNull(TransactionCategory.fromDisplayName(buffer, 2, 6));
+    }
+
+    @Test
+    public void testJsonRoundTrip() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<TransactionCategory> categories = List.of(TransactionCategory.values());
+
+        String json = objectMapper.writeValueAsString(categories);
+
+        assertEquals("[\"Groceries\",\"Entertainment\",\"Dining\",\"Transportation\",\"Healthcare\","
+                + "\"Living Expenses\",\"Shopping\",\"Income\",\"Misc\"]", json);
+        assertEquals(categories, objectMapper.readValue(json, new TypeReference<List<TransactionCategory>>() { }));
+        assertEquals(List.of(TransactionCategory.MISC, TransactionCategory.LIVING_EXPENSES),
+                objectMapper.readValue("[\"MISC\",\"living expenses\"]", new TypeReference<List<TransactionCategory>>() { }));
+        assertThrows(Exception.class, () -> objectMapper.readValue("[\"Gadgets\"]", new TypeReference<List<TransactionCategory>>() { }));
+    }
 }
@@ -0,0 +1,39 @@
+package com.skillstorm.transactionservice.models;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+public class TransactionCursorTests {
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        TransactionCursor cursor = new TransactionCursor(LocalDate.of(2024, 1, 15), 42);
+
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(LocalDate.of(2024, 1, 15), decoded.getDate());
+        assertEquals(42, decoded.getTransactionId());
+    }
+
+    @Test
+    public void testAfterTransaction() {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(7);
+        transaction.setDate(LocalDate.of(2024, 2, 1));
+
+        assertEquals(new TransactionCursor(LocalDate.of(2024, 2, 1), 7), TransactionCursor.after(transaction));
+    }
+
+    @Test
+    public void testDecodeInvalidToken() {
+        assertThrows(InvalidTransactionException.class, () -> TransactionCursor.decode("%%%"));
+        assertThrows(InvalidTransactionException.class, () -> TransactionCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(InvalidTransactionException.class, () -> TransactionCursor.decode("MjAyNC0wMS0xNTphYmM"));
+    }
+}
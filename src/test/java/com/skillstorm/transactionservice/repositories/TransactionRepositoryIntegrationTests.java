@@ -0,0 +1,237 @@
+package com.skillstorm.transactionservice.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Checks that the indexes from the Flyway migrations are used by the queries TransactionRepository
+ * actually issues. Each test calls a real repository method, captures the SQL Hibernate sent along
+ * with its bound parameters, and EXPLAINs exactly that statement. The table is seeded with enough
+ * users and rows, and analyzed, for the planner to prefer an index only where it really pays off;
+ * sequential scans are not disabled.
+ */
+@SpringBootTest
+@Transactional
+@Import(TransactionRepositoryIntegrationTests.StatementCaptureConfig.class)
+public class TransactionRepositoryIntegrationTests {
+
+    private static final int USERS = 200;
+
+    private static final int ROWS_PER_USER = 100;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        // seeded inside the test transaction, so it is rolled back with it
+        jdbcTemplate.update("INSERT INTO transaction (user_id, account_id, vendor_name, transaction_date, transaction_amount, "
+                + "transaction_category) SELECT u, u * 10 + n % 10, 'Vendor' || (n % 20), DATE '2024-01-01' + (n * 3 % 365), "
+                + "10.00, CASE WHEN n % 10 = 0 THEN 'INCOME' ELSE 'GROCERIES' END "
+                + "FROM generate_series(1, " + USERS + ") AS u, generate_series(1, " + ROWS_PER_USER + ") AS n");
+        jdbcTemplate.execute("ANALYZE transaction");
+        StatementCapture.clear();
+    }
+
+    @Test
+    public void testFindByUserIdUsesUserDateIndex() {
+        transactionRepository.findByUserId(1);
+
+        assertUsesIndex("idx_transaction_user_date");
+    }
+
+    @Test
+    public void testFindRecentFiveTransactionUsesUserDateIndexWithoutSort() {
+        transactionRepository.findRecentFiveTransaction(1);
+
+        String plan = assertUsesIndex("idx_transaction_user_date");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    public void testFindTransactionsInDateRangeUsesUserDateIndex() {
+        transactionRepository.findTransactionsInDateRange(1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1),
+                PageRequest.of(0, 5001));
+
+        String plan = assertUsesIndex("idx_transaction_user_date");
+        assertTrue(plan.contains("transaction_date >="), plan);
+    }
+
+    @Test
+    public void testBatchedUserLookupUsesUserDateIndex() {
+        transactionRepository.findBudgetTransactionRowsByUserIdIn(List.of(1, 2, 3));
+
+        assertUsesIndex("idx_transaction_user_date");
+    }
+
+    @Test
+    public void testFindByAccountIdUsesAccountDateIndex() {
+        transactionRepository.findByAccountId(10);
+
+        assertUsesIndex("idx_transaction_account_date");
+    }
+
+    @Test
+    public void testFindByUserIdAndVendorNameUsesUserVendorIndex() {
+        transactionRepository.findByUserIdAndVendorName(1, "Vendor3");
+
+        assertUsesIndex("idx_transaction_user_vendor");
+    }
+
+    @Test
+    public void testUserKeysetPageUsesUserDateIndexWithoutSort() {
+        transactionRepository.findPageByUserIdAfter(1, LocalDate.of(2024, 6, 1), 10, PageRequest.of(0, 51));
+
+        String plan = assertUsesIndex("idx_transaction_user_date");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    public void testPurgeChunkUsesUserDateIndexWithoutSort() {
+        transactionRepository.deleteChunkByUserId(1, 50);
+
+        String plan = assertUsesIndex("idx_transaction_user_date");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    // EXPLAIN the last statement the repository sent, with the same parameters, and check the index is in the plan
+    private String assertUsesIndex(String index) {
+        CapturedStatement statement = StatementCapture.last();
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            List<String> lines = new ArrayList<>();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql)) {
+                statement.bindTo(explain);
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        lines.add(rows.getString(1));
+                    }
+                }
+            }
+            return String.join("\n", lines);
+        });
+        assertTrue(plan.contains(index), statement.sql + "\n" + plan);
+        return plan;
+    }
+
+    // Wraps the DataSource so every prepared statement's SQL and parameter setters are recorded
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                            ? StatementCapture.wrap(dataSource, DataSource.class)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    private static final class StatementCapture {
+
+        private static final List<CapturedStatement> STATEMENTS = new ArrayList<>();
+
+        static synchronized void clear() {
+            STATEMENTS.clear();
+        }
+
+        static synchronized CapturedStatement last() {
+            assertFalse(STATEMENTS.isEmpty(), "No statement was executed");
+            return STATEMENTS.get(STATEMENTS.size() - 1);
+        }
+
+        private static synchronized void executed(CapturedStatement statement) {
+            STATEMENTS.add(statement);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> T wrap(T target, Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (type == DataSource.class && method.getName().equals("getConnection")) {
+                    return wrap((Connection) result, Connection.class);
+                }
+                if (type == Connection.class && method.getName().equals("prepareStatement")) {
+                    return capture((PreparedStatement) result, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement capture(PreparedStatement target, String sql) {
+            CapturedStatement statement = new CapturedStatement(sql);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            statement.setters.add(new Setter(method, args));
+                        }
+                        if (method.getName().startsWith("execute") && (args == null || args.length == 0)) {
+                            executed(statement);
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private record Setter(Method method, Object[] args) {
+    }
+
+    private static final class CapturedStatement {
+
+        private final String sql;
+
+        private final List<Setter> setters = new ArrayList<>();
+
+        private CapturedStatement(String sql) {
+            this.sql = sql;
+        }
+
+        // Replay the recorded parameter setters on another statement with the same placeholders
+        private void bindTo(PreparedStatement explain) {
+            for (Setter setter : setters) {
+                try {
+                    setter.method.invoke(explain, setter.args);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Could not rebind " + setter.method.getName(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.skillstorm.transactionservice.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+public class CsvRecordReaderTests {
+
+    @Test
+    public void testReadsPlainAndQuotedFields() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b,c\r\n1,\"Joe's, \"\"Diner\"\"\",\r\n"));
+
+        assertEquals(List.of("a", "b", "c"), reader.readRecord());
+        assertEquals(List.of("1", "Joe's, \"Diner\"", ""), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    public void testQuotedFieldMaySpanLines() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"line one\nline two\",x"));
+
+        assertEquals(List.of("line one\nline two", "x"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    public void testSkipsBlankLines() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\n\na\n\nb\n"));
+
+        assertEquals(List.of("a"), reader.readRecord());
+        assertEquals(List.of("b"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+}
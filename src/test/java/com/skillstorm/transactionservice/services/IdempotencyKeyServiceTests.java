@@ -0,0 +1,157 @@
+package com.skillstorm.transactionservice.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
+import com.skillstorm.transactionservice.models.IdempotencyKey;
+import com.skillstorm.transactionservice.models.IdempotencyKeyId;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.repositories.IdempotencyKeyRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+public class IdempotencyKeyServiceTests {
+
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private TransactionService transactionService;
+
+    private IdempotencyKeyService idempotencyKeyService;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @BeforeEach
+    public void setup() {
+        idempotencyKeyRepository = mock(IdempotencyKeyRepository.class);
+        transactionService = mock(TransactionService.class);
+        idempotencyKeyService = new IdempotencyKeyService(idempotencyKeyRepository, transactionService, objectMapper,
+                new NoOpTransactionManager(), 60_000, 100);
+        when(transactionService.createTransaction(anyInt(), any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(1);
+            transaction.setTransactionId(42);
+            return transaction;
+        });
+    }
+
+    private static Transaction transaction(String vendorName) {
+        return new Transaction(0, 2, vendorName, new BigDecimal("12.50"), TransactionCategory.GROCERIES, null, LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    public void testFirstRequestCreatesAndStoresTheResponse() {
+        when(idempotencyKeyRepository.claim(eq(1), eq("key-1"), anyString(), any(Instant.class), any(Instant.class))).thenReturn(1);
+
+        Transaction created = idempotencyKeyService.createTransaction(1, "key-1", transaction("Grocer"));
+
+        assertEquals(42, created.getTransactionId());
+        ArgumentCaptor<String> responseBody = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).complete(eq(1), eq("key-1"), eq(42), responseBody.capture());
+        assertTrue(responseBody.getValue().contains("\"transactionId\":42"));
+    }
+
+    @Test
+    public void testRetryIsAnsweredFromMemory() {
+        when(idempotencyKeyRepository.claim(eq(1), eq("key-1"), anyString(), any(Instant.class), any(Instant.class))).thenReturn(1);
+        idempotencyKeyService.createTransaction(1, "key-1", transaction("Grocer"));
+
+        Transaction replayed = idempotencyKeyService.createTransaction(1, "key-1", transaction("Grocer"));
+
+        assertEquals(42, replayed.getTransactionId());
+        verify(transactionService, times(1)).createTransaction(anyInt(), any(Transaction.class));
+        verify(idempotencyKeyRepository, times(1)).claim(anyInt(), anyString(), anyString(), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    public void testRetryIsAnsweredFromTheKeyTable() throws Exception {
+        Transaction original = transaction("Grocer");
+        original.setUserId(1);
+        String requestHash = claimedHash(original);
+        original.setTransactionId(7);
+        when(idempotencyKeyRepository.claim(eq(1), eq("key-1"), anyString(), any(Instant.class), any(Instant.class))).thenReturn(0);
+        when(idempotencyKeyRepository.findById(new IdempotencyKeyId(1, "key-1"))).thenReturn(Optional.of(new IdempotencyKey(1, "key-1",
+                requestHash, 7, objectMapper.writeValueAsString(original), Instant.now(), Instant.now().plusSeconds(60))));
+
+        Transaction replayed = idempotencyKeyService.createTransaction(1, "key-1", transaction("Grocer"));
+
+        assertEquals(original, replayed);
+        verify(transactionService, never()).createTransaction(anyInt(), any(Transaction.class));
+    }
+
+    @Test
+    public void testKeyReusedWithDifferentRequestIsRejected() {
+        when(idempotencyKeyRepository.claim(eq(1), eq("key-1"), anyString(), any(Instant.class), any(Instant.class))).thenReturn(1);
+        idempotencyKeyService.createTransaction(1, "key-1", transaction("Grocer"));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> idempotencyKeyService.createTransaction(1, "key-1", transaction("Bakery")));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatusCode());
+    }
+
+    @Test
+    public void testKeyHeldByRunningRequestIsConflict() {
+        when(idempotencyKeyRepository.claim(eq(1), eq("key-1"), anyString(), any(Instant.class), any(Instant.class))).thenReturn(0);
+        when(idempotencyKeyRepository.findById(new IdempotencyKeyId(1, "key-1"))).thenReturn(Optional.of(new IdempotencyKey(1, "key-1",
+                "hash", null, null, Instant.now(), Instant.now().plusSeconds(60))));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> idempotencyKeyService.createTransaction(1, "key-1", transaction("Grocer")));
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    }
+
+    @Test
+    public void testInvalidKeyIsRejected() {
+        assertThrows(InvalidTransactionException.class, () -> idempotencyKeyService.createTransaction(1, " ", transaction("Grocer")));
+        assertThrows(InvalidTransactionException.class,
+                () -> idempotencyKeyService.createTransaction(1, "k".repeat(IdempotencyKeyService.MAX_KEY_LENGTH + 1), transaction("Grocer")));
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    // the hash the service claims the key with, taken from a first request through a separate service
+    private String claimedHash(Transaction request) {
+        IdempotencyKeyRepository repository = mock(IdempotencyKeyRepository.class);
+        when(repository.claim(anyInt(), anyString(), anyString(), any(Instant.class), any(Instant.class))).thenReturn(1);
+        new IdempotencyKeyService(repository, transactionService, objectMapper, new NoOpTransactionManager(), 60_000, 100)
+                .createTransaction(request.getUserId(), "probe", transaction(request.getVendorName()));
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(repository).claim(anyInt(), anyString(), hash.capture(), any(Instant.class), any(Instant.class));
+        clearInvocations(transactionService);
+        return hash.getValue();
+    }
+
+    // Runs the callbacks, including afterCommit synchronizations, without a database
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
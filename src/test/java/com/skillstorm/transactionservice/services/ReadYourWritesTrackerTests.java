@@ -0,0 +1,51 @@
+package com.skillstorm.transactionservice.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadYourWritesTrackerTests {
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testWriteOutsideTransactionIsRecordedImmediately() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000);
+
+        tracker.recordWrite(1);
+
+        assertTrue(tracker.wroteRecently(1));
+        assertFalse(tracker.wroteRecently(2));
+    }
+
+    @Test
+    public void testWriteInsideTransactionIsRecordedAfterCommit() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000);
+        TransactionSynchronizationManager.initSynchronization();
+
+        tracker.recordWrite(1);
+        assertFalse(tracker.wroteRecently(1));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertTrue(tracker.wroteRecently(1));
+    }
+
+    @Test
+    public void testWritesAreForgottenAfterTheStickinessWindow() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(0);
+
+        tracker.recordWrite(1);
+
+        assertFalse(tracker.wroteRecently(1));
+    }
+}
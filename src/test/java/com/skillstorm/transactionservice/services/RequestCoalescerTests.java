@@ -0,0 +1,144 @@
+package com.skillstorm.transactionservice.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.skillstorm.transactionservice.exceptions.TransactionNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestCoalescerTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, 2000);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("transaction.coalescer.requests")
+                .tag("operation", "findByUserId").tag("result", result).counter().count();
+    }
+
+    @Test
+    public void testConcurrentCallersShareOneLookup() throws Exception {
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch releaseLookup = new CountDownLatch(1);
+        AtomicInteger lookups = new AtomicInteger();
+        List<Integer> result = List.of(1, 2, 3);
+
+        Future<List<Integer>> leader = executor.submit(() -> coalescer.execute("findByUserId", 1, () -> {
+            lookups.incrementAndGet();
+            lookupStarted.countDown();
+            await(releaseLookup);
+            return result;
+        }));
+        assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+
+        FutureTask<List<Integer>> follower = new FutureTask<>(() -> coalescer.execute("findByUserId", 1, () -> {
+            lookups.incrementAndGet();
+            return List.of();
+        }));
+        startAndAwaitBlocked(follower);
+        releaseLookup.countDown();
+
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, lookups.get());
+        assertEquals(1, requests("executed"));
+        assertEquals(1, requests("coalesced"));
+        assertEquals(0, meterRegistry.get("transaction.coalescer.in.flight").gauge().value());
+    }
+
+    @Test
+    public void testFollowersSeeTheLeadersException() throws Exception {
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch releaseLookup = new CountDownLatch(1);
+
+        Future<Object> leader = executor.submit(() -> coalescer.execute("findByUserId", 1, () -> {
+            lookupStarted.countDown();
+            await(releaseLookup);
+            throw new TransactionNotFoundException("missing");
+        }));
+        assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+        FutureTask<Object> follower = new FutureTask<>(() -> coalescer.execute("findByUserId", 1, () -> "unused"));
+        startAndAwaitBlocked(follower);
+        releaseLookup.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TransactionNotFoundException.class, leaderFailure.getCause());
+        assertInstanceOf(TransactionNotFoundException.class, followerFailure.getCause());
+        assertEquals(1, requests("coalesced"));
+    }
+
+    @Test
+    public void testFollowerRunsItsOwnLookupWhenTheLeaderIsSlow() throws Exception {
+        coalescer = new RequestCoalescer(meterRegistry, 50);
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch releaseLookup = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> coalescer.execute("findByUserId", 1, () -> {
+            lookupStarted.countDown();
+            await(releaseLookup);
+            return "leader";
+        }));
+        assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals("follower", coalescer.execute("findByUserId", 1, () -> "follower"));
+        assertEquals(1, requests("timed.out"));
+        // a caller that gave up waiting did not share the lookup
+        assertNull(meterRegistry.find("transaction.coalescer.requests").tag("result", "coalesced").counter());
+        releaseLookup.countDown();
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSequentialCallsAreNotCached() {
+        AtomicInteger lookups = new AtomicInteger();
+
+        coalescer.execute("findByUserId", 1, lookups::incrementAndGet);
+        coalescer.execute("findByUserId", 1, lookups::incrementAndGet);
+        coalescer.execute("findByUserId", 2, lookups::incrementAndGet);
+
+        assertEquals(3, lookups.get());
+        assertEquals(3, requests("executed"));
+    }
+
+    // Run the follower on its own thread and wait until it is blocked on the leader's lookup
+    private static void startAndAwaitBlocked(FutureTask<?> follower) {
+        Thread thread = new Thread(follower);
+        thread.start();
+        while (thread.getState() != Thread.State.TIMED_WAITING && !follower.isDone()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.skillstorm.transactionservice.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
+import com.skillstorm.transactionservice.models.TransactionImportError;
+import com.skillstorm.transactionservice.models.TransactionImportResult;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.List;
+
+public class TransactionImportServiceTests {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private CopyIn copyIn;
+
+    @InjectMocks
+    private TransactionImportService transactionImportService;
+
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        closeable = MockitoAnnotations.openMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        doAnswer(invocation -> {
+            copied.write((byte[]) invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        doCallRealMethod().when(transactionService).validateNewTransaction(any());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    private TransactionImportResult importCsv(String csv) throws Exception {
+        return transactionImportService.importCsv(1, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testImportCsv_CopiesValidRowsAndMerges() throws Exception {
+        TransactionImportResult result = importCsv(
+                "accountId,vendorName,amount,category,date,description\n"
+                        + "101,\"Joe's \"\"Diner\"\"\",12.50,Dining,2024-01-15,\n"
+                        + "101,Landlord,1200,Living Expenses,2024-01-01,January rent\n");
+
+        assertEquals(2, result.getImportedCount());
+        assertEquals(0, result.getRejectedCount());
+        assertEquals("1,101,\"Joe's \"\"Diner\"\"\",2024-01-15,12.50,,DINING\n"
+                        + "1,101,\"Landlord\",2024-01-01,1200,\"January rent\",LIVING_EXPENSES\n",
+                copied.toString(StandardCharsets.UTF_8));
+        verify(copyIn).endCopy();
+        verify(jdbcTemplate, times(2)).update(anyString());
+        verify(transactionService).recordUserWrite(1);
+    }
+
+    @Test
+    public void testImportCsv_AssignsIdsInPooledBlocks() throws Exception {
+        importCsv("accountId,vendorName,amount,category,date\n101,Amazon,1,Shopping,2024-01-01\n");
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).update(statements.capture());
+        String merge = statements.getAllValues().get(0);
+        assertTrue(merge.contains("INSERT INTO transaction (transaction_id,"), merge);
+        assertTrue(merge.contains("b.hi - 49 + staged.n % 50"), merge);
+        assertTrue(merge.contains("/ 50"), merge);
+    }
+
+    @Test
+    public void testImportCsv_ReportsBadRowsWithoutAborting() throws Exception {
+        TransactionImportResult result = importCsv(
+                "date,amount,vendorName,category,accountId\n"
+                        + "2024-01-15,10.00,Amazon,Shopping,101\n"
+                        + "2024-13-01,10.00,Amazon,Shopping,101\n"
+                        + "2024-01-15,10.00,Amazon,Gadgets,101\n"
+                        + "2024-01-15,-5,Amazon,Shopping,101\n"
+                        + "2024-01-15,10.00,,Shopping,101\n"
+                        + "2024-01-15,99999999.995,Amazon,Shopping,101\n"
+                        + "2024-01-15,10.500,Amazon,Shopping,101\n");
+
+        assertEquals(2, result.getImportedCount());
+        assertEquals(5, result.getRejectedCount());
+        assertEquals(List.of(
+                new TransactionImportError(2, "Invalid date 2024-13-01, expected yyyy-MM-dd"),
+                new TransactionImportError(3, "Unknown category Gadgets"),
+                new TransactionImportError(4, "Amount is required"),
+                new TransactionImportError(5, "Vendor name is required"),
+                new TransactionImportError(6, "Amount 99999999.995 has more than 2 decimal places")), result.getErrors());
+        verify(copyIn).endCopy();
+    }
+
+    @Test
+    public void testImportCsv_NoValidRowsSkipsMerge() throws Exception {
+        TransactionImportResult result = importCsv("accountId,vendorName,amount,category,date\nabc,Amazon,1,Shopping,2024-01-01\n");
+
+        assertEquals(0, result.getImportedCount());
+        assertEquals(1, result.getRejectedCount());
+        verify(jdbcTemplate, never()).update(anyString());
+        verify(transactionService, never()).recordUserWrite(anyInt());
+    }
+
+    @Test
+    public void testImportCsv_MissingColumn() {
+        assertThrows(InvalidTransactionException.class, () -> importCsv("accountId,vendorName,amount,date\n"));
+        assertThrows(InvalidTransactionException.class, () -> importCsv(""));
+    }
+}
@@ -0,0 +1,136 @@
+package com.skillstorm.transactionservice.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
+import com.skillstorm.transactionservice.models.Transaction;
+import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.models.TransactionIngestionStatus.State;
+import com.skillstorm.transactionservice.services.TransactionIngestionQueue.Ingestion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TransactionIngestionQueueTests {
+
+    private TransactionService transactionService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransactionIngestionQueue ingestionQueue;
+
+    @BeforeEach
+    public void setup() {
+        transactionService = mock(TransactionService.class);
+        doCallRealMethod().when(transactionService).validateNewTransaction(any());
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionQueue = new TransactionIngestionQueue(transactionService, meterRegistry, 4, 10, 50, 60_000, 1000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ingestionQueue.stop();
+    }
+
+    private static Transaction transaction(String vendorName) {
+        return new Transaction(0, 2, vendorName, new BigDecimal("10.00"), TransactionCategory.GROCERIES, null,
+                LocalDate.of(2024, 3, 1));
+    }
+
+    // the mocked group commit assigns ids in order, starting at 100
+    private void savesWithIds() {
+        when(transactionService.createIngestedTransactions(anyList())).thenAnswer(invocation -> {
+            List<Transaction> saved = new ArrayList<>();
+            for (Transaction transaction : invocation.<List<Transaction>>getArgument(0)) {
+                transaction.setTransactionId(100 + saved.size());
+                saved.add(transaction);
+            }
+            return saved;
+        });
+    }
+
+    @Test
+    public void testQueuedTransactionsAreCommittedTogether() throws Exception {
+        savesWithIds();
+        List<Ingestion> ingestions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ingestions.add(ingestionQueue.submit(1, transaction("Vendor " + i)));
+        }
+        assertEquals(State.PENDING, ingestions.get(0).getStatus().getState());
+
+        ingestionQueue.start();
+        for (int i = 0; i < 3; i++) {
+            Transaction saved = ingestions.get(i).getFuture().get(5, TimeUnit.SECONDS);
+            assertEquals(100 + i, saved.getTransactionId());
+            assertEquals(1, saved.getUserId());
+        }
+
+        verify(transactionService, times(1)).createIngestedTransactions(anyList());
+        assertEquals(State.COMMITTED, ingestions.get(2).getStatus().getState());
+        assertSame(ingestions.get(1), ingestionQueue.find(ingestions.get(1).getId()).orElseThrow());
+        assertEquals(3.0, meterRegistry.get("transaction.ingestion.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    public void testFailedGroupCommitIsRetriedOneByOne() throws Exception {
+        Transaction good = transaction("Good");
+        Transaction bad = transaction("Bad");
+        when(transactionService.createIngestedTransactions(anyList())).thenThrow(new IllegalStateException("constraint violated"));
+        when(transactionService.createTransaction(1, good)).thenReturn(good);
+        when(transactionService.createTransaction(1, bad)).thenThrow(new IllegalStateException("constraint violated"));
+
+        Ingestion goodIngestion = ingestionQueue.submit(1, good);
+        Ingestion badIngestion = ingestionQueue.submit(1, bad);
+        ingestionQueue.start();
+
+        assertSame(good, goodIngestion.getFuture().get(5, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> badIngestion.getFuture().get(5, TimeUnit.SECONDS));
+        assertEquals(State.FAILED, badIngestion.getStatus().getState());
+        assertEquals("constraint violated", badIngestion.getStatus().getError());
+    }
+
+    @Test
+    public void testFullQueueRejectsSubmissions() {
+        for (int i = 0; i < 4; i++) {
+            ingestionQueue.submit(1, transaction("Vendor " + i));
+        }
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> ingestionQueue.submit(1, transaction("One too many")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals(1.0, meterRegistry.get("transaction.ingestion.rejected").counter().count());
+        assertEquals(4.0, meterRegistry.get("transaction.ingestion.queue.size").gauge().value());
+    }
+
+    @Test
+    public void testInvalidTransactionIsRejectedBeforeQueueing() {
+        Transaction transaction = transaction("");
+
+        assertThrows(InvalidTransactionException.class, () -> ingestionQueue.submit(1, transaction));
+        assertEquals(0.0, meterRegistry.get("transaction.ingestion.queue.size").gauge().value());
+    }
+
+    @Test
+    public void testStopCommitsWhatIsQueued() throws Exception {
+        savesWithIds();
+        ingestionQueue.start();
+        Ingestion ingestion = ingestionQueue.submit(1, transaction("Last one"));
+
+        ingestionQueue.stop();
+
+        assertTrue(ingestion.getFuture().isDone());
+        assertEquals(State.COMMITTED, ingestion.getStatus().getState());
+        assertThrows(ResponseStatusException.class, () -> ingestionQueue.submit(1, transaction("Too late")));
+    }
+}
@@ -0,0 +1,157 @@
+package com.skillstorm.transactionservice.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.skillstorm.transactionservice.models.TransactionPurgeJob;
+import com.skillstorm.transactionservice.models.TransactionPurgeJob.State;
+import com.skillstorm.transactionservice.repositories.MonthlyCategorySummaryRepository;
+import com.skillstorm.transactionservice.repositories.TransactionPurgeJobRepository;
+import com.skillstorm.transactionservice.repositories.TransactionRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public class TransactionPurgeServiceTests {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private TransactionPurgeJobRepository purgeJobRepository;
+
+    private TransactionRepository transactionRepository;
+
+    private MonthlyCategorySummaryRepository summaryRepository;
+
+    private TransactionService transactionService;
+
+    private TransactionPurgeService purgeService;
+
+    private TransactionPurgeJob job;
+
+    @BeforeEach
+    public void setup() {
+        purgeJobRepository = mock(TransactionPurgeJobRepository.class);
+        transactionRepository = mock(TransactionRepository.class);
+        summaryRepository = mock(MonthlyCategorySummaryRepository.class);
+        transactionService = mock(TransactionService.class);
+        purgeService = new TransactionPurgeService(purgeJobRepository, transactionRepository, summaryRepository,
+                transactionService, new NoOpTransactionManager(), CHUNK_SIZE, 0, 1);
+
+        job = new TransactionPurgeJob(1, State.RUNNING, 0, Instant.now());
+        when(purgeJobRepository.findByUserIdForUpdate(1)).thenReturn(Optional.of(job));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        purgeService.close();
+    }
+
+    @Test
+    public void testFullChunkLeavesPurgeRunning() {
+        when(transactionRepository.deleteChunkByUserId(1, CHUNK_SIZE)).thenReturn(CHUNK_SIZE);
+
+        assertTrue(purgeService.purgeChunk(1));
+
+        assertEquals(State.RUNNING, job.getState());
+        assertEquals(CHUNK_SIZE, job.getDeletedCount());
+        verify(summaryRepository, never()).deleteByUserId(anyInt());
+        verify(transactionService).recordUserWrite(1);
+    }
+
+    @Test
+    public void testShortChunkCompletesPurge() {
+        job.setDeletedCount(500);
+        when(transactionRepository.deleteChunkByUserId(1, CHUNK_SIZE)).thenReturn(3);
+
+        assertFalse(purgeService.purgeChunk(1));
+
+        assertEquals(State.COMPLETED, job.getState());
+        assertEquals(503, job.getDeletedCount());
+        assertNotNull(job.getCompletedAt());
+        verify(summaryRepository).deleteByUserId(1);
+    }
+
+    @Test
+    public void testCompletedPurgeDeletesNothing() {
+        job.setState(State.COMPLETED);
+
+        assertFalse(purgeService.purgeChunk(1));
+        assertFalse(purgeService.purgeChunk(2));
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    public void testRequestedPurgeRunsInChunksInTheBackground() throws Exception {
+        when(transactionRepository.deleteChunkByUserId(1, CHUNK_SIZE)).thenReturn(CHUNK_SIZE, CHUNK_SIZE, 40);
+
+        assertSame(job, purgeService.requestPurge(1));
+
+        awaitCompletion();
+        assertEquals(240, job.getDeletedCount());
+        verify(purgeJobRepository).start(eq(1), any(Instant.class));
+        verify(transactionRepository, times(3)).deleteChunkByUserId(1, CHUNK_SIZE);
+    }
+
+    @Test
+    public void testFailedPurgeIsResumedByRescan() throws Exception {
+        when(transactionRepository.deleteChunkByUserId(1, CHUNK_SIZE))
+                .thenReturn(CHUNK_SIZE)
+                .thenThrow(new QueryTimeoutException("statement timeout"))
+                .thenReturn(10);
+        when(purgeJobRepository.findRunningUserIds()).thenReturn(List.of(1));
+
+        purgeService.requestPurge(1);
+        for (int i = 0; i < 100 && job.getLastError() == null; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals("statement timeout", job.getLastError());
+        assertEquals(CHUNK_SIZE, job.getDeletedCount());
+
+        // the failed worker may still be finishing, so rescan until the purge is picked up again
+        for (int i = 0; i < 100 && job.getState() == State.RUNNING; i++) {
+            purgeService.resumePurges();
+            Thread.sleep(20);
+        }
+        assertEquals(State.COMPLETED, job.getState());
+        assertEquals(CHUNK_SIZE + 10, job.getDeletedCount());
+        assertNull(job.getLastError());
+    }
+
+    private void awaitCompletion() throws InterruptedException {
+        for (int i = 0; i < 100 && job.getState() == State.RUNNING; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(State.COMPLETED, job.getState());
+    }
+
+    // Runs the callbacks, including afterCommit synchronizations, without a database
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
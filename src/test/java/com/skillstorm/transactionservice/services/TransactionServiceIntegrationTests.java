@@ -5,8 +5,10 @@ import static org.mockito.Mockito.*;
 
 import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
 import com.skillstorm.transactionservice.exceptions.TransactionNotFoundException;
+import com.skillstorm.transactionservice.models.MonthlyCategorySummary;
 import com.skillstorm.transactionservice.models.Transaction;
 import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.repositories.MonthlyCategorySummaryRepository;
 import com.skillstorm.transactionservice.repositories.TransactionRepository;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.AfterEach;
@@ -23,6 +25,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -39,14 +42,19 @@ public class TransactionServiceIntegrationTests {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private MonthlyCategorySummaryRepository summaryRepository;
+
     @BeforeEach
     public void setup() {
         transactionRepository.deleteAll();
+        summaryRepository.deleteAll();
     }
 
     @AfterEach
     public void tearDown() {
         transactionRepository.deleteAll();
+        summaryRepository.deleteAll();
     }
 
     @Test
@@ -123,7 +131,7 @@ public class TransactionServiceIntegrationTests {
         Transaction transaction6 = new Transaction(userId, 6, "Vendor6", BigDecimal.valueOf(600), TransactionCategory.SHOPPING, "Description6", LocalDate.now());
         transactionRepository.saveAll(List.of(transaction1, transaction2, transaction3, transaction4, transaction5, transaction6));
 
-        List<Transaction> result = transactionService.getRecentFiveTransactions(userId);
+        List<Transaction> result = transactionService.getRecentFiveTransactions(userId, 0L);
 
         assertEquals(5, result.size());
         assertTrue(result.contains(transaction1));
@@ -137,7 +145,7 @@ public class TransactionServiceIntegrationTests {
     public void testGetRecentFiveTransactions_NotFound() {
         int userId = 1;
 
-        assertThrows(TransactionNotFoundException.class, () -> transactionService.getRecentFiveTransactions(userId));
+        assertThrows(TransactionNotFoundException.class, () -> transactionService.getRecentFiveTransactions(userId, 0L));
     }
 
     @Test
@@ -148,7 +156,7 @@ public class TransactionServiceIntegrationTests {
         Transaction transaction2 = new Transaction(userId, 2, "Vendor2", BigDecimal.valueOf(200), TransactionCategory.SHOPPING, "Description2", currentDate);
         transactionRepository.saveAll(List.of(transaction1, transaction2));
 
-        List<Transaction> result = transactionService.getTransactionsFromCurrentMonth(userId);
+        List<Transaction> result = transactionService.getTransactionsFromMonth(userId, YearMonth.from(currentDate), 0L);
 
         assertEquals(2, result.size());
         assertTrue(result.contains(transaction1));
@@ -201,6 +209,32 @@ public class TransactionServiceIntegrationTests {
         assertThrows(TransactionNotFoundException.class, () -> transactionService.updateTransaction(1, userId, updateData));
     }
 
+    @Test
+    public void testMonthlySummary_TracksCreateUpdateAndDelete() {
+        int userId = 1;
+        LocalDate date = LocalDate.of(2024, 3, 10);
+        Transaction groceries = transactionService.createTransaction(userId, new Transaction(userId, 1, "Vendor1", new BigDecimal("30.00"), TransactionCategory.GROCERIES, "Description1", date));
+        Transaction dining = transactionService.createTransaction(userId, new Transaction(userId, 1, "Vendor2", new BigDecimal("20.00"), TransactionCategory.DINING, "Description2", date));
+        transactionService.createTransaction(userId, new Transaction(userId, 1, "Vendor3", new BigDecimal("5.00"), TransactionCategory.DINING, "Description3", date));
+
+        transactionService.updateTransaction(groceries.getTransactionId(), userId, new Transaction(0, 0, "Vendor1", new BigDecimal("35.00"), TransactionCategory.GROCERIES, "Description1", date));
+        transactionService.deleteTransaction(dining.getTransactionId());
+
+        List<MonthlyCategorySummary> result = transactionService.getMonthlySummary(userId, YearMonth.of(2024, 3));
+
+        assertEquals(2, result.size());
+        for (MonthlyCategorySummary summary : result) {
+            if (summary.getCategory() == TransactionCategory.GROCERIES) {
+                assertEquals(0, new BigDecimal("35.00").compareTo(summary.getTotalAmount()));
+                assertEquals(1, summary.getTransactionCount());
+            } else {
+                assertEquals(TransactionCategory.DINING, summary.getCategory());
+                assertEquals(0, new BigDecimal("5.00").compareTo(summary.getTotalAmount()));
+                assertEquals(1, summary.getTransactionCount());
+            }
+        }
+    }
+
     @Test
     public void testDeleteTransaction_Success() {
         Transaction transaction = new Transaction(1, 1, "Vendor", BigDecimal.valueOf(100), TransactionCategory.SHOPPING, "Description", LocalDate.now());
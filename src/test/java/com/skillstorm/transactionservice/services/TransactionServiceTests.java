@@ -3,11 +3,20 @@ package com.skillstorm.transactionservice.services;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.skillstorm.transactionservice.configs.RpcReplySender;
 import com.skillstorm.transactionservice.exceptions.InvalidTransactionException;
 import com.skillstorm.transactionservice.exceptions.TransactionNotFoundException;
+import com.skillstorm.transactionservice.models.BudgetTransaction;
+import com.skillstorm.transactionservice.models.MonthlyCategorySummary;
 import com.skillstorm.transactionservice.models.Transaction;
 import com.skillstorm.transactionservice.models.TransactionCategory;
+import com.skillstorm.transactionservice.models.TransactionCursor;
+import com.skillstorm.transactionservice.models.TransactionPage;
+import com.skillstorm.transactionservice.repositories.MonthlyCategorySummaryRepository;
 import com.skillstorm.transactionservice.repositories.TransactionRepository;
+import com.skillstorm.transactionservice.repositories.UserChangeVersionRepository;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,18 +25,31 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.amqp.core.MessagePostProcessor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.web.server.ResponseStatusException;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public class TransactionServiceTests {
 
@@ -35,7 +57,28 @@ public class TransactionServiceTests {
     private TransactionRepository transactionRepository;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private MonthlyCategorySummaryRepository summaryRepository;
+
+    @Mock
+    private RpcReplySender replySender;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ReadYourWritesTracker readYourWrites;
+
+    @Mock
+    private UserChangeVersionRepository changeVersionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry(), 2000);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
     @InjectMocks
     private TransactionService transactionService;
@@ -45,6 +88,7 @@ public class TransactionServiceTests {
     @BeforeEach
     public void setup() {
         closeable = MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(transactionService, "maxBatchUserIds", 3);
     }
 
     @AfterEach
@@ -64,6 +108,29 @@ public class TransactionServiceTests {
         verify(transactionRepository, times(1)).findByUserId(userId);
     }
 
+    @Test
+    public void testGetTransactionsByUserId_CoalescedInReadOnlyTransaction() {
+        when(transactionRepository.findByUserId(1)).thenReturn(Optional.of(List.of(new Transaction())));
+
+        transactionService.getTransactionsByUserId(1);
+
+        verify(coalescer).execute(eq("findByUserId"), eq(1), any());
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    public void testGetTransactionsByUserId_RecentWriterIsNotCoalesced() {
+        when(readYourWrites.wroteRecently(1)).thenReturn(true);
+        when(transactionRepository.findByUserId(1)).thenReturn(Optional.of(List.of(new Transaction())));
+
+        transactionService.getTransactionsByUserId(1);
+
+        verify(coalescer, never()).execute(any(), any(), any());
+        verify(transactionRepository).findByUserId(1);
+    }
+
     @Test
     public void testGetTransactionsByUserId_NotFound() {
         int userId = 1;
@@ -78,19 +145,21 @@ public class TransactionServiceTests {
         String correlationId = UUID.randomUUID().toString();
         String replyToQueue = "budget-response";
 
-        List<Transaction> transactions = Arrays.asList(new Transaction(), new Transaction());
-        when(transactionRepository.findByUserIdExcludeIncome(userId)).thenReturn(Optional.of(transactions));
+        List<BudgetTransaction> transactions = Arrays.asList(
+                new BudgetTransaction(TransactionCategory.GROCERIES, BigDecimal.valueOf(42.10), LocalDate.of(2024, 1, 5)),
+                new BudgetTransaction(TransactionCategory.DINING, BigDecimal.valueOf(18.00), LocalDate.of(2024, 1, 6)));
+        when(transactionRepository.findBudgetTransactionsByUserId(userId)).thenReturn(Optional.of(transactions));
 
         // Method ultimately returns void, so without a returned object we verify the outgoing request:
         ArgumentCaptor<String> resultQueue = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<List<Transaction>> result = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<BudgetTransaction>> result = ArgumentCaptor.forClass(List.class);
 
-        transactionService.getTransactionsByUserIdExcludingIncome(userId, correlationId, replyToQueue);
-        verify(rabbitTemplate).convertAndSend(resultQueue.capture(), result.capture(), any(MessagePostProcessor.class));
+        transactionService.getTransactionsByUserIdExcludingIncome(userId, correlationId, replyToQueue, null, null);
+        verify(replySender).send(resultQueue.capture(), eq(correlationId), isNull(), isNull(), result.capture());
 
         assertEquals(replyToQueue, resultQueue.getValue());
         assertEquals(transactions, result.getValue());
-        verify(transactionRepository, times(1)).findByUserIdExcludeIncome(userId);
+        verify(transactionRepository, times(1)).findBudgetTransactionsByUserId(userId);
     }
 
     @Test
@@ -99,9 +168,9 @@ public class TransactionServiceTests {
         String replyToQueue = "budget-response";
         String correlationId = UUID.randomUUID().toString();
 
-        when(transactionRepository.findByUserIdExcludeIncome(userId)).thenReturn(Optional.empty());
+        when(transactionRepository.findBudgetTransactionsByUserId(userId)).thenReturn(Optional.empty());
 
-        assertThrows(TransactionNotFoundException.class, () -> transactionService.getTransactionsByUserIdExcludingIncome(userId, correlationId, replyToQueue));
+        assertThrows(TransactionNotFoundException.class, () -> transactionService.getTransactionsByUserIdExcludingIncome(userId, correlationId, replyToQueue, null, null));
     }
 
     @Test
@@ -124,6 +193,102 @@ public class TransactionServiceTests {
         assertThrows(TransactionNotFoundException.class, () -> transactionService.getTransactionsByAccountId(accountId));
     }
 
+    @Test
+    public void testGetTransactionsPageByUserId_FirstPageHasNextCursor() {
+        int userId = 1;
+        Transaction newest = new Transaction();
+        newest.setTransactionId(3);
+        newest.setDate(LocalDate.of(2024, 3, 1));
+        Transaction middle = new Transaction();
+        middle.setTransactionId(2);
+        middle.setDate(LocalDate.of(2024, 2, 1));
+        Transaction lookahead = new Transaction();
+        lookahead.setTransactionId(1);
+        lookahead.setDate(LocalDate.of(2024, 1, 1));
+        when(transactionRepository.findFirstPageByUserId(userId, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(newest, middle, lookahead));
+
+        TransactionPage result = transactionService.getTransactionsPageByUserId(userId, null, 2);
+
+        assertEquals(Arrays.asList(newest, middle), result.getTransactions());
+        assertEquals(TransactionCursor.after(middle), TransactionCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    public void testGetTransactionsPageByUserId_LastPageFromCursor() {
+        int userId = 1;
+        TransactionCursor cursor = new TransactionCursor(LocalDate.of(2024, 2, 1), 2);
+        List<Transaction> transactions = Arrays.asList(new Transaction());
+        when(transactionRepository.findPageByUserIdAfter(userId, cursor.getDate(), cursor.getTransactionId(),
+                PageRequest.of(0, TransactionService.DEFAULT_PAGE_SIZE + 1))).thenReturn(transactions);
+
+        TransactionPage result = transactionService.getTransactionsPageByUserId(userId, cursor.encode(), null);
+
+        assertEquals(transactions, result.getTransactions());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void testGetTransactionsPageByUserId_SizeIsCapped() {
+        int userId = 1;
+        when(transactionRepository.findFirstPageByUserId(userId, PageRequest.of(0, TransactionService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(Arrays.asList(new Transaction()));
+
+        transactionService.getTransactionsPageByUserId(userId, null, 100000);
+
+        verify(transactionRepository, times(1)).findFirstPageByUserId(userId, PageRequest.of(0, TransactionService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    public void testGetTransactionsPageByUserId_NotFound() {
+        int userId = 1;
+        when(transactionRepository.findFirstPageByUserId(userId, PageRequest.of(0, TransactionService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        assertThrows(TransactionNotFoundException.class, () -> transactionService.getTransactionsPageByUserId(userId, null, null));
+    }
+
+    @Test
+    public void testGetTransactionsPageByUserId_InvalidCursor() {
+        assertThrows(InvalidTransactionException.class, () -> transactionService.getTransactionsPageByUserId(1, "not-a-cursor", null));
+    }
+
+    @Test
+    public void testGetTransactionsPageByUserId_InvalidSize() {
+        assertThrows(InvalidTransactionException.class, () -> transactionService.getTransactionsPageByUserId(1, null, 0));
+    }
+
+    @Test
+    public void testGetTransactionsPageByAccountId_Success() {
+        int accountId = 1;
+        List<Transaction> transactions = Arrays.asList(new Transaction(), new Transaction());
+        when(transactionRepository.findFirstPageByAccountId(accountId, PageRequest.of(0, TransactionService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(transactions);
+
+        TransactionPage result = transactionService.getTransactionsPageByAccountId(accountId, null, null);
+
+        assertEquals(transactions, result.getTransactions());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void testExportTransactionsByUserId_WritesNdjsonAndDetaches() throws Exception {
+        int userId = 1;
+        Transaction transaction1 = new Transaction(userId, 1, "Vendor1", BigDecimal.valueOf(100), TransactionCategory.SHOPPING, "Description1", LocalDate.of(2024, 1, 1));
+        Transaction transaction2 = new Transaction(userId, 2, "Vendor2", BigDecimal.valueOf(200), TransactionCategory.DINING, "Description2", LocalDate.of(2024, 1, 2));
+        when(transactionRepository.streamByUserId(userId)).thenReturn(Stream.of(transaction1, transaction2));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transactionService.exportTransactionsByUserId(userId, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Vendor1", objectMapper.readTree(lines[0]).get("vendorName").asText());
+        assertEquals("Dining", objectMapper.readTree(lines[1]).get("category").asText());
+        verify(entityManager).detach(transaction1);
+        verify(entityManager).detach(transaction2);
+    }
+
     @Test
     public void testGetTransactionsByUserIdAndVendorName_Success() {
         int userId = 1;
@@ -152,7 +317,7 @@ public class TransactionServiceTests {
         List<Transaction> transactions = Arrays.asList(new Transaction(), new Transaction());
         when(transactionRepository.findRecentFiveTransaction(userId)).thenReturn(Optional.of(transactions));
 
-        List<Transaction> result = transactionService.getRecentFiveTransactions(userId);
+        List<Transaction> result = transactionService.getRecentFiveTransactions(userId, 0L);
 
         assertEquals(transactions, result);
         verify(transactionRepository, times(1)).findRecentFiveTransaction(userId);
@@ -163,20 +328,64 @@ public class TransactionServiceTests {
         int userId = 1;
         when(transactionRepository.findRecentFiveTransaction(userId)).thenReturn(Optional.empty());
 
-        assertThrows(TransactionNotFoundException.class, () -> transactionService.getRecentFiveTransactions(userId));
+        assertThrows(TransactionNotFoundException.class, () -> transactionService.getRecentFiveTransactions(userId, 0L));
+    }
+
+    @Test
+    public void testGetTransactionsFromMonth_Success() {
+        int userId = 1;
+        List<Transaction> transactions = Arrays.asList(new Transaction(), new Transaction());
+        when(transactionRepository.findTransactionsInDateRange(eq(userId), eq(LocalDate.of(2024, 2, 1)), eq(LocalDate.of(2024, 3, 1)), any()))
+                .thenReturn(transactions);
+
+        List<Transaction> result = transactionService.getTransactionsFromMonth(userId, YearMonth.of(2024, 2), 0L);
+
+        assertEquals(transactions, result);
+        verify(transactionRepository, times(1)).findTransactionsInDateRange(eq(userId), eq(LocalDate.of(2024, 2, 1)), eq(LocalDate.of(2024, 3, 1)), any());
     }
 
     @Test
-    public void testGetTransactionsFromCurrentMonth_Success() {
+    public void testGetTransactionsInDateRange_Success() {
         int userId = 1;
-        LocalDate currentDate = LocalDate.now();
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 4, 1);
         List<Transaction> transactions = Arrays.asList(new Transaction(), new Transaction());
-        when(transactionRepository.findTransactionFromCurrentMonth(userId, currentDate.getMonthValue(), currentDate.getYear())).thenReturn(Optional.of(transactions));
+        when(transactionRepository.findTransactionsInDateRange(userId, from, to, PageRequest.of(0, TransactionService.MAX_DATE_RANGE_ROWS + 1)))
+                .thenReturn(transactions);
 
-        List<Transaction> result = transactionService.getTransactionsFromCurrentMonth(userId);
+        List<Transaction> result = transactionService.getTransactionsInDateRange(userId, from, to);
 
         assertEquals(transactions, result);
-        verify(transactionRepository, times(1)).findTransactionFromCurrentMonth(userId, currentDate.getMonthValue(), currentDate.getYear());
+        verify(transactionRepository, times(1)).findTransactionsInDateRange(userId, from, to, PageRequest.of(0, TransactionService.MAX_DATE_RANGE_ROWS + 1));
+    }
+
+    @Test
+    public void testGetTransactionsInDateRange_WindowTooLong() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+
+        assertDoesNotThrow(() -> transactionService.getTransactionsInDateRange(1, from, from.plusDays(TransactionService.MAX_DATE_RANGE_DAYS)));
+        assertThrows(InvalidTransactionException.class, () -> transactionService.getTransactionsInDateRange(1, LocalDate.of(1, 1, 1), from));
+    }
+
+    @Test
+    public void testGetTransactionsInDateRange_TooManyRows() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i <= TransactionService.MAX_DATE_RANGE_ROWS; i++) {
+            transactions.add(new Transaction());
+        }
+        when(transactionRepository.findTransactionsInDateRange(anyInt(), any(), any(), any())).thenReturn(transactions);
+
+        assertThrows(InvalidTransactionException.class,
+                () -> transactionService.getTransactionsInDateRange(1, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)));
+    }
+
+    @Test
+    public void testGetTransactionsInDateRange_InvalidRange() {
+        LocalDate date = LocalDate.of(2024, 1, 1);
+
+        assertThrows(InvalidTransactionException.class, () -> transactionService.getTransactionsInDateRange(1, date, date));
+        assertThrows(InvalidTransactionException.class, () -> transactionService.getTransactionsInDateRange(1, date.plusDays(1), date));
+        verify(transactionRepository, never()).findTransactionsInDateRange(anyInt(), any(), any(), any());
     }
 
     @Test
@@ -196,6 +405,111 @@ public class TransactionServiceTests {
         verify(transactionRepository, times(1)).save(transaction);
     }
 
+    @Test
+    public void testCreateTransactions_Success() {
+        int userId = 1;
+        List<Transaction> transactions = List.of(
+                new Transaction(0, 1, "Vendor1", new BigDecimal("10.00"), TransactionCategory.DINING, null, LocalDate.of(2024, 3, 1)),
+                new Transaction(0, 1, "Vendor2", new BigDecimal("15.00"), TransactionCategory.DINING, null, LocalDate.of(2024, 3, 20)),
+                new Transaction(0, 1, "Vendor3", new BigDecimal("80.00"), TransactionCategory.GROCERIES, null, LocalDate.of(2024, 4, 2)));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Transaction> result = transactionService.createTransactions(userId, transactions);
+
+        assertEquals(transactions, result);
+        assertTrue(result.stream().allMatch(transaction -> transaction.getUserId() == userId));
+        verify(entityManager, times(1)).flush();
+        verify(summaryRepository, times(1)).applyDelta(userId, LocalDate.of(2024, 3, 1), "DINING", new BigDecimal("25.00"), 2);
+        verify(summaryRepository, times(1)).applyDelta(userId, LocalDate.of(2024, 4, 1), "GROCERIES", new BigDecimal("80.00"), 1);
+    }
+
+    @Test
+    public void testCreateTransactions_FlushesInChunks() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < TransactionService.BATCH_CHUNK_SIZE * 2 + 1; i++) {
+            transactions.add(new Transaction(0, 1, "Vendor", BigDecimal.ONE, TransactionCategory.MISC, null, LocalDate.of(2024, 1, 1)));
+        }
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.createTransactions(1, transactions);
+
+        verify(transactionRepository, times(3)).saveAll(anyList());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    public void testCreateTransactions_InvalidEntryRejectsWholeBatch() {
+        List<Transaction> transactions = List.of(
+                new Transaction(0, 1, "Vendor1", new BigDecimal("10.00"), TransactionCategory.DINING, null, LocalDate.now()),
+                new Transaction(0, 1, "", new BigDecimal("15.00"), TransactionCategory.DINING, null, LocalDate.now()));
+
+        InvalidTransactionException exception = assertThrows(InvalidTransactionException.class, () -> transactionService.createTransactions(1, transactions));
+        assertEquals("Transaction at index 1: Vendor name is required", exception.getMessage());
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testCreateTransactions_ClientTransactionIdIsIgnored() {
+        Transaction transaction = new Transaction(1, 2, "Vendor", new BigDecimal("10.00"), TransactionCategory.DINING, null, LocalDate.now());
+        transaction.setTransactionId(42);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.createTransactions(1, List.of(transaction));
+        assertEquals(0, transaction.getTransactionId());
+
+        transaction.setTransactionId(42);
+        transactionService.createTransaction(1, transaction);
+        assertEquals(0, transaction.getTransactionId());
+    }
+
+    @Test
+    public void testCreateTransactions_NullEntryIsInvalid() {
+        List<Transaction> transactions = Arrays.asList(
+                new Transaction(0, 1, "Vendor1", new BigDecimal("10.00"), TransactionCategory.DINING, null, LocalDate.now()),
+                null);
+
+        InvalidTransactionException exception = assertThrows(InvalidTransactionException.class, () -> transactionService.createTransactions(1, transactions));
+        assertEquals("Transaction at index 1 is missing", exception.getMessage());
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testCreateIngestedTransactions_SeveralUsers() {
+        List<Transaction> transactions = List.of(
+                new Transaction(1, 1, "Vendor1", new BigDecimal("10.00"), TransactionCategory.DINING, null, LocalDate.of(2024, 3, 1)),
+                new Transaction(2, 4, "Vendor2", new BigDecimal("15.00"), TransactionCategory.DINING, null, LocalDate.of(2024, 3, 20)),
+                new Transaction(1, 1, "Vendor3", new BigDecimal("5.00"), TransactionCategory.DINING, null, LocalDate.of(2024, 3, 2)));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Transaction> result = transactionService.createIngestedTransactions(transactions);
+
+        assertEquals(transactions, result);
+        verify(entityManager, times(1)).flush();
+        verify(summaryRepository, times(1)).applyDelta(1, LocalDate.of(2024, 3, 1), "DINING", new BigDecimal("15.00"), 2);
+        verify(summaryRepository, times(1)).applyDelta(2, LocalDate.of(2024, 3, 1), "DINING", new BigDecimal("15.00"), 1);
+        verify(readYourWrites).recordWrite(1);
+        verify(readYourWrites).recordWrite(2);
+        verify(changeVersionRepository).increment(1);
+        verify(changeVersionRepository).increment(2);
+    }
+
+    @Test
+    public void testGetChangeVersion() {
+        when(changeVersionRepository.findVersionByUserId(1)).thenReturn(Optional.of(7L));
+        when(changeVersionRepository.findVersionByUserId(2)).thenReturn(Optional.empty());
+
+        assertEquals(7L, transactionService.getChangeVersion(1));
+        assertEquals(0L, transactionService.getChangeVersion(2));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    public void testCreateTransactions_EmptyBatch() {
+        assertThrows(InvalidTransactionException.class, () -> transactionService.createTransactions(1, List.of()));
+    }
+
     @Test
     public void testCreateTransaction_InvalidAccountId() {
         Transaction transaction = new Transaction();
@@ -300,30 +614,152 @@ public class TransactionServiceTests {
     @Test
     public void testDeleteTransaction_Success() {
         int transactionId = 1;
-        when(transactionRepository.existsById(transactionId)).thenReturn(true);
+        Transaction existingTransaction = new Transaction(1, 1, "Vendor", new BigDecimal("25.00"), TransactionCategory.DINING, null, LocalDate.of(2024, 5, 20));
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(existingTransaction));
 
         transactionService.deleteTransaction(transactionId);
 
         verify(transactionRepository, times(1)).deleteById(transactionId);
+        verify(summaryRepository, times(1)).applyDelta(1, LocalDate.of(2024, 5, 1), "DINING", new BigDecimal("-25.00"), -1);
     }
 
     @Test
     public void testDeleteTransaction_NotFound() {
         int transactionId = 1;
-        when(transactionRepository.existsById(transactionId)).thenReturn(false);
+        when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
 
         assertThrows(TransactionNotFoundException.class, () -> transactionService.deleteTransaction(transactionId));
+        verify(transactionRepository, never()).deleteById(transactionId);
+    }
+
+    @Test
+    public void testCreateTransaction_UpdatesSummary() {
+        Transaction transaction = new Transaction(1, 1, "Vendor", new BigDecimal("100.00"), TransactionCategory.SHOPPING, null, LocalDate.of(2024, 3, 15));
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+
+        transactionService.createTransaction(1, transaction);
+
+        verify(summaryRepository, times(1)).applyDelta(1, LocalDate.of(2024, 3, 1), "SHOPPING", new BigDecimal("100.00"), 1);
     }
 
     @Test
-    public void testDeleteTransactionByUserId_Success() {
+    public void testUpdateTransaction_MovesSummaryBetweenMonthsAndCategories() {
+        Transaction existingTransaction = new Transaction(1, 1, "Vendor", new BigDecimal("40.00"), TransactionCategory.DINING, null, LocalDate.of(2024, 1, 31));
+        existingTransaction.setTransactionId(1);
+        Transaction transaction = new Transaction(0, 0, "Vendor", new BigDecimal("45.00"), TransactionCategory.GROCERIES, null, LocalDate.of(2024, 2, 1));
+
+        when(transactionRepository.findById(1)).thenReturn(Optional.of(existingTransaction));
+        when(transactionRepository.save(existingTransaction)).thenReturn(existingTransaction);
+
+        transactionService.updateTransaction(1, 1, transaction);
+
+        verify(summaryRepository, times(1)).applyDelta(1, LocalDate.of(2024, 1, 1), "DINING", new BigDecimal("-40.00"), -1);
+        verify(summaryRepository, times(1)).applyDelta(1, LocalDate.of(2024, 2, 1), "GROCERIES", new BigDecimal("45.00"), 1);
+    }
+
+    @Test
+    public void testCreateTransaction_BumpsChangeVersion() {
+        Transaction transaction = new Transaction(1, 1, "Vendor", new BigDecimal("100.00"), TransactionCategory.SHOPPING, null, LocalDate.now());
+        when(transactionRepository.save(transaction)).thenReturn(transaction);
+
+        transactionService.createTransaction(1, transaction);
+
+        verify(changeVersionRepository).increment(1);
+        verify(readYourWrites, atLeastOnce()).recordWrite(1);
+    }
+
+    @Test
+    public void testUpdateTransaction_BumpsOldAndNewOwner() {
+        Transaction existingTransaction = new Transaction(1, 1, "Vendor", new BigDecimal("40.00"), TransactionCategory.DINING, null, LocalDate.now());
+        Transaction transaction = new Transaction(2, 0, "Vendor", new BigDecimal("40.00"), TransactionCategory.DINING, null, LocalDate.now());
+        when(transactionRepository.findById(1)).thenReturn(Optional.of(existingTransaction));
+        when(transactionRepository.save(existingTransaction)).thenReturn(existingTransaction);
+
+        transactionService.updateTransaction(1, 1, transaction);
+
+        verify(changeVersionRepository).increment(1);
+        verify(changeVersionRepository).increment(2);
+        verify(readYourWrites, atLeastOnce()).recordWrite(1);
+        verify(readYourWrites, atLeastOnce()).recordWrite(2);
+    }
+
+    @Test
+    public void testGetMonthlySummary_Success() {
+        int userId = 1;
+        List<MonthlyCategorySummary> summaries = List.of(
+                new MonthlyCategorySummary(userId, LocalDate.of(2024, 3, 1), TransactionCategory.DINING, new BigDecimal("12.50"), 2));
+        when(summaryRepository.findByUserIdAndMonth(userId, LocalDate.of(2024, 3, 1))).thenReturn(summaries);
+
+        List<MonthlyCategorySummary> result = transactionService.getMonthlySummary(userId, YearMonth.of(2024, 3));
+
+        assertEquals(summaries, result);
+    }
+
+    @Test
+    public void testGetMonthlySummaryRabbit_ExcludesIncome() {
         int userId = 1;
+        String correlationId = UUID.randomUUID().toString();
+        String replyToQueue = "budget-response";
+        MonthlyCategorySummary dining = new MonthlyCategorySummary(userId, LocalDate.of(2024, 3, 1), TransactionCategory.DINING, new BigDecimal("12.50"), 2);
+        MonthlyCategorySummary income = new MonthlyCategorySummary(userId, LocalDate.of(2024, 3, 1), TransactionCategory.INCOME, new BigDecimal("3000.00"), 1);
+        when(summaryRepository.findByUserIdAndMonth(userId, LocalDate.of(2024, 3, 1))).thenReturn(List.of(dining, income));
+
+        ArgumentCaptor<List<MonthlyCategorySummary>> result = ArgumentCaptor.forClass(List.class);
+
+        transactionService.getMonthlySummaryRabbit(userId, "2024-03", correlationId, replyToQueue, "application/cbor", "gzip");
+        verify(replySender).send(eq(replyToQueue), eq(correlationId), eq("application/cbor"), eq("gzip"), result.capture());
+
+        assertEquals(List.of(dining), result.getValue());
+    }
+
+    @Test
+    public void testGetMonthlySummaryRabbit_InvalidMonth() {
+        assertThrows(InvalidTransactionException.class, () -> transactionService.getMonthlySummaryRabbit(1, "March", "id", "budget-response", null, null));
+    }
+
+    @Test
+    public void testGetTransactionsByUserIdsRabbit_GroupsByUser() {
+        Transaction first = new Transaction(1, 1, "Vendor", BigDecimal.TEN, TransactionCategory.DINING, "Lunch", LocalDate.of(2024, 3, 1));
+        Transaction second = new Transaction(1, 1, "Vendor", BigDecimal.ONE, TransactionCategory.INCOME, "Pay", LocalDate.of(2024, 3, 2));
+        Transaction third = new Transaction(2, 4, "Vendor", BigDecimal.ONE, TransactionCategory.MISC, "Other", LocalDate.of(2024, 3, 3));
+        when(transactionRepository.findByUserIdIn(Set.of(2, 1, 3))).thenReturn(List.of(first, third, second));
+
+        ArgumentCaptor<Map<Integer, List<Transaction>>> result = ArgumentCaptor.forClass(Map.class);
+
+        transactionService.getTransactionsByUserIdsRabbit(List.of(2, 1, 3, 1), "id", "account-response", null, null);
+        verify(replySender).send(eq("account-response"), eq("id"), isNull(), isNull(), result.capture());
+
+        assertEquals(List.of(2, 1, 3), new ArrayList<>(result.getValue().keySet()));
+        assertEquals(List.of(first, second), result.getValue().get(1));
+        assertEquals(List.of(third), result.getValue().get(2));
+        assertEquals(List.of(), result.getValue().get(3));
+        verify(transactionRepository, times(1)).findByUserIdIn(any());
+    }
 
-        doNothing().when(transactionRepository).deleteTransactionsByUserId(userId);
+    @Test
+    public void testGetTransactionsByUserIdsExcludingIncome_BuildsBudgetTransactions() {
+        LocalDate date = LocalDate.of(2024, 3, 1);
+        when(transactionRepository.findBudgetTransactionRowsByUserIdIn(Set.of(1, 2))).thenReturn(List.<Object[]>of(
+                new Object[] { 2, TransactionCategory.DINING, BigDecimal.TEN, date },
+                new Object[] { 2, TransactionCategory.MISC, BigDecimal.ONE, date }));
+
+        ArgumentCaptor<Map<Integer, List<BudgetTransaction>>> result = ArgumentCaptor.forClass(Map.class);
 
-        transactionService.deleteTransactionByUserId(userId);
+        transactionService.getTransactionsByUserIdsExcludingIncome(List.of(1, 2), "id", "budget-response", null, null);
+        verify(replySender).send(eq("budget-response"), eq("id"), isNull(), isNull(), result.capture());
 
-        verify(transactionRepository, times(1)).deleteTransactionsByUserId(userId);
+        assertEquals(List.of(), result.getValue().get(1));
+        assertEquals(List.of(new BudgetTransaction(TransactionCategory.DINING, BigDecimal.TEN, date),
+                new BudgetTransaction(TransactionCategory.MISC, BigDecimal.ONE, date)), result.getValue().get(2));
+    }
+
+    @Test
+    public void testBatchRequest_RejectsEmptyAndOversizedBatches() {
+        assertThrows(InvalidTransactionException.class,
+                () -> transactionService.getTransactionsByUserIdsRabbit(List.of(), "id", "account-response", null, null));
+        assertThrows(InvalidTransactionException.class,
+                () -> transactionService.getTransactionsByUserIdsExcludingIncome(List.of(1, 2, 3, 4), "id", "budget-response", null, null));
+        verifyNoInteractions(transactionRepository, replySender);
     }
 
     @Test